@@ -0,0 +1,13 @@
+package com.example.persistingdatareactively.property;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("taco.bulk-write")
+@Data
+public class BulkWriteProps {
+    // Rows sent to the database in one batched statement, and at most two chunks are held in memory.
+    private int chunkSize = 100;
+}
@@ -0,0 +1,111 @@
+package com.example.persistingdatareactively.service;
+
+import com.example.persistingdatareactively.domain.Taco;
+import com.example.persistingdatareactively.domain.TacoOrder;
+import com.example.persistingdatareactively.property.BulkWriteProps;
+import io.r2dbc.spi.Statement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/*
+* Saves tacos and orders a chunk at a time instead of one INSERT per row like the repositories do. Every chunk is
+* one statement with a binding per row, added with Statement.add(), so the driver can send the rows together. The
+* incoming Flux is only asked for the next chunk once the previous one is written, a fast producer waits for the
+* database instead of piling up rows in memory. Each chunk commits on its own.
+* */
+@Service
+public class BulkWriteService {
+
+    private static final String INSERT_TACO = "INSERT INTO Taco (name, ingredient_ids) VALUES ($1, $2)";
+
+    private static final String INSERT_ORDER =
+            "INSERT INTO Taco_Order (delivery_name, delivery_street, delivery_city, delivery_state, delivery_zip, " +
+            "cc_number, cc_expiration, cc_cvv, taco_ids) VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9)";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final int chunkSize;
+
+    @Autowired
+    public BulkWriteService(DatabaseClient databaseClient, TransactionalOperator transactionalOperator,
+                            BulkWriteProps props) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.chunkSize = props.getChunkSize();
+    }
+
+    // Emits the tacos with their generated ids, in the order they came in.
+    public Flux<Taco> saveTacos(Flux<Taco> tacos) {
+        return tacos.buffer(chunkSize)
+                    .concatMap(chunk -> transactionalOperator.transactional(insertTacos(chunk)), 1);
+    }
+
+    // Saves the tacos of every order first and fills in its tacoIds, emits the orders with their generated ids.
+    public Flux<TacoOrder> saveOrders(Flux<TacoOrder> orders) {
+        return orders.buffer(chunkSize)
+                     .concatMap(chunk -> transactionalOperator.transactional(insertOrders(chunk)), 1);
+    }
+
+    private Flux<Taco> insertTacos(List<Taco> tacos) {
+        if (tacos.isEmpty()) return Flux.empty();
+
+        return insert(INSERT_TACO, tacos, (statement, taco) -> statement
+                .bind(0, taco.getName())
+                .bind(1, taco.getIngredientIds().toArray(new Long[0])))
+                .index()
+                .map(indexedId -> {
+                    Taco taco = tacos.get(indexedId.getT1().intValue());
+                    taco.setId(indexedId.getT2());
+                    return taco;
+                });
+    }
+
+    private Flux<TacoOrder> insertOrders(List<TacoOrder> orders) {
+        List<Taco> tacos = orders.stream().flatMap(order -> order.getTacos().stream()).toList();
+
+        return insertTacos(tacos)
+                .then(Mono.fromRunnable(() -> orders.forEach(order -> order.getTacos()
+                                                                          .forEach(taco -> order.getTacoIds()
+                                                                                                .add(taco.getId())))))
+                .thenMany(insert(INSERT_ORDER, orders, (statement, order) -> statement
+                        .bind(0, order.getDeliveryName())
+                        .bind(1, order.getDeliveryStreet())
+                        .bind(2, order.getDeliveryCity())
+                        .bind(3, order.getDeliveryState())
+                        .bind(4, order.getDeliveryZip())
+                        .bind(5, order.getCcNumber())
+                        .bind(6, order.getCcExpiration())
+                        .bind(7, order.getCcCVV())
+                        .bind(8, order.getTacoIds().toArray(new Long[0]))))
+                .index()
+                .map(indexedId -> {
+                    TacoOrder order = orders.get(indexedId.getT1().intValue());
+                    order.setId(indexedId.getT2());
+                    return order;
+                });
+    }
+
+    // One statement for all rows, a binding per row. Emits the generated ids in the order of the rows.
+    private <T> Flux<Long> insert(String sql, List<T> rows, RowBinder<T> binder) {
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(sql).returnGeneratedValues("id");
+            for (int i = 0; i < rows.size(); i++) {
+                if (i > 0) statement.add();
+                binder.bind(statement, rows.get(i));
+            }
+            return Flux.from(statement.execute())
+                       .concatMap(result -> result.map((row, metadata) -> row.get("id", Long.class)));
+        });
+    }
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(Statement statement, T row);
+    }
+}
@@ -1,4 +1,4 @@
-CREATE TABLE Ingredient
+CREATE TABLE IF NOT EXISTS Ingredient
 (
     id identity,
     slug varchar(4)  not null,
@@ -6,14 +6,14 @@ CREATE TABLE Ingredient
     type varchar(10) not null
 );
 
-CREATE TABLE Taco
+CREATE TABLE IF NOT EXISTS Taco
 (
     id identity,
     name           varchar(50) not null,
-    ingredient_ids array
+    ingredient_ids bigint array
 );
 
-CREATE TABLE Taco_Order
+CREATE TABLE IF NOT EXISTS Taco_Order
 (
     id identity,
     delivery_name   varchar(50) not null,
@@ -24,6 +24,6 @@ CREATE TABLE Taco_Order
     cc_number       varchar(16) not null,
     cc_expiration   varchar(5)  not null,
     cc_cvv          varchar(3)  not null,
-    taco_ids        array
+    taco_ids        bigint array
 );
 
@@ -0,0 +1,202 @@
+package com.example.persistingdatareactively.service;
+
+import com.example.persistingdatareactively.domain.Taco;
+import com.example.persistingdatareactively.domain.TacoOrder;
+import com.example.persistingdatareactively.property.BulkWriteProps;
+import com.example.persistingdatareactively.repository.OrderRepository;
+import com.example.persistingdatareactively.repository.TacoRepository;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@DataR2dbcTest
+public class BulkWriteServiceTest {
+
+    private static final int ORDERS = 3000;
+    private static final int TACOS_PER_ORDER = 3;
+
+    @Autowired
+    ConnectionFactory connectionFactory;
+
+    @Autowired
+    DatabaseClient databaseClient;
+
+    @Autowired
+    TransactionalOperator transactionalOperator;
+
+    @Autowired
+    TacoRepository tacoRepository;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @BeforeEach
+    public void setup() {
+        StepVerifier.create(orderRepository.deleteAll().then(tacoRepository.deleteAll()))
+                    .verifyComplete();
+    }
+
+    @Test
+    public void shouldSaveOrdersWithTheirTacos() {
+        StepVerifier.create(service(2).saveOrders(Flux.range(0, 5).map(BulkWriteServiceTest::order)))
+                    .recordWith(ArrayList::new)
+                    .expectNextCount(5)
+                    .consumeRecordedWith(orders -> {
+                        assertThat(orders).extracting(TacoOrder::getDeliveryName)
+                                          .containsExactly("Customer 0", "Customer 1", "Customer 2", "Customer 3",
+                                                           "Customer 4");
+                        assertThat(orders).allSatisfy(order -> {
+                            assertThat(order.getId()).isNotNull();
+                            assertThat(order.getTacoIds()).hasSize(TACOS_PER_ORDER)
+                                                          .containsExactlyElementsOf(order.getTacos().stream()
+                                                                                          .map(Taco::getId).toList());
+                        });
+                    })
+                    .verifyComplete();
+
+        StepVerifier.create(tacoRepository.count()).expectNext(5L * TACOS_PER_ORDER).verifyComplete();
+        StepVerifier.create(orderRepository.count()).expectNext(5L).verifyComplete();
+        StepVerifier.create(tacoRepository.findAll().filter(taco -> taco.getName().equals("Taco 4-2")))
+                    .assertNext(taco -> assertThat(taco.getIngredientIds()).containsExactlyInAnyOrder(1L, 2L, 3L))
+                    .verifyComplete();
+    }
+
+    @Test
+    public void shouldNotPullMoreThanTwoChunksAheadOfTheDatabase() {
+        AtomicLong produced = new AtomicLong();
+        AtomicLong saved = new AtomicLong();
+        AtomicLong maxInFlight = new AtomicLong();
+
+        Flux<Taco> tacos = Flux.range(0, 1000)
+                               .map(i -> new Taco("Taco " + i))
+                               .doOnNext(taco -> maxInFlight.accumulateAndGet(
+                                       produced.incrementAndGet() - saved.get(), Math::max));
+
+        StepVerifier.create(service(50).saveTacos(tacos).doOnNext(taco -> saved.incrementAndGet()))
+                    .expectNextCount(1000)
+                    .verifyComplete();
+
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2 * 50);
+    }
+
+    // Every chunk is one INSERT for its tacos and one for its orders, however many rows it holds.
+    @Test
+    public void shouldWriteAChunkWithTwoStatements() {
+        assertThat(statementsToSave(300, 1)).isEqualTo(2 * 300);
+        setup();
+        assertThat(statementsToSave(300, 100)).isEqualTo(2 * 3);
+    }
+
+    // Wall clock comparison, only run with -Pperformance.
+    @Tag("performance")
+    @Test
+    public void shouldWriteChunksFasterThanSingleRows() {
+        Duration singleRows = timeToSave(1);
+        setup();
+        Duration chunked = timeToSave(100);
+
+        log.info("{} orders with {} tacos each: one row per statement {} ms ({} orders/s), chunks of 100 {} ms "
+                 + "({} orders/s)", ORDERS, TACOS_PER_ORDER,
+                 singleRows.toMillis(), ORDERS * 1000 / singleRows.toMillis(),
+                 chunked.toMillis(), ORDERS * 1000 / chunked.toMillis());
+        assertThat(chunked).isLessThan(singleRows);
+    }
+
+    private int statementsToSave(int orders, int chunkSize) {
+        AtomicInteger statements = new AtomicInteger();
+        ConnectionFactory counting = countingStatements(connectionFactory, statements);
+        BulkWriteProps props = new BulkWriteProps();
+        props.setChunkSize(chunkSize);
+        BulkWriteService service = new BulkWriteService(DatabaseClient.create(counting),
+                                                        TransactionalOperator.create(
+                                                                new R2dbcTransactionManager(counting)),
+                                                        props);
+
+        StepVerifier.create(service.saveOrders(Flux.range(0, orders).map(BulkWriteServiceTest::order)))
+                    .expectNextCount(orders)
+                    .verifyComplete();
+        return statements.get();
+    }
+
+    private Duration timeToSave(int chunkSize) {
+        Duration elapsed = StepVerifier.create(service(chunkSize).saveOrders(Flux.range(0, ORDERS)
+                                                                                  .map(BulkWriteServiceTest::order)))
+                                       .expectNextCount(ORDERS)
+                                       .verifyComplete();
+        StepVerifier.create(orderRepository.count()).expectNext((long) ORDERS).verifyComplete();
+        return elapsed;
+    }
+
+    private BulkWriteService service(int chunkSize) {
+        BulkWriteProps props = new BulkWriteProps();
+        props.setChunkSize(chunkSize);
+        return new BulkWriteService(databaseClient, transactionalOperator, props);
+    }
+
+    // Hands out connections that count every statement created on them.
+    private static ConnectionFactory countingStatements(ConnectionFactory connectionFactory, AtomicInteger statements) {
+        return proxy(ConnectionFactory.class, connectionFactory, (method, result) ->
+                method.getName().equals("create")
+                        ? Mono.from((Publisher<?>) result).map(connection -> proxy(
+                                Connection.class, (Connection) connection, (connectionMethod, connectionResult) -> {
+                                    if (connectionMethod.getName().equals("createStatement")) {
+                                        statements.incrementAndGet();
+                                    }
+                                    return connectionResult;
+                                }))
+                        : result);
+    }
+
+    private static <T> T proxy(Class<T> type, T target, BiFunction<Method, Object, Object> onResult) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            try {
+                return onResult.apply(method, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }));
+    }
+
+    private static TacoOrder order(int i) {
+        TacoOrder order = new TacoOrder();
+        order.setDeliveryName("Customer " + i);
+        order.setDeliveryStreet("Street " + i);
+        order.setDeliveryCity("City");
+        order.setDeliveryState("ST");
+        order.setDeliveryZip("12345");
+        order.setCcNumber("4111111111111111");
+        order.setCcExpiration("12/29");
+        order.setCcCVV("123");
+        for (int t = 0; t < TACOS_PER_ORDER; t++) {
+            Taco taco = new Taco("Taco " + i + "-" + t);
+            taco.setIngredientIds(Set.of(1L, 2L, 3L));
+            order.addTaco(taco);
+        }
+        return order;
+    }
+}
@@ -1,13 +1,18 @@
 package com.example.tacocloudauthserver.configuration;
 
+import com.example.tacocloudauthserver.property.AuthorizationStoreProps;
+import com.example.tacocloudauthserver.property.JwkProps;
+import com.example.tacocloudauthserver.service.CachingJwtDecoder;
+import com.example.tacocloudauthserver.service.CachingRegisteredClientRepository;
+import com.example.tacocloudauthserver.service.JwkStore;
 import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.proc.SecurityContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -15,39 +20,25 @@ import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
 import org.springframework.security.oauth2.core.oidc.OidcScopes;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.server.authorization.client.InMemoryRegisteredClientRepository;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.authorization.JdbcOAuth2AuthorizationConsentService;
+import org.springframework.security.oauth2.server.authorization.JdbcOAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationConsentService;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.client.JdbcRegisteredClientRepository;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
 import org.springframework.security.oauth2.server.authorization.config.annotation.web.configuration.OAuth2AuthorizationServerConfiguration;
 import org.springframework.security.web.SecurityFilterChain;
 
-import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.NoSuchAlgorithmException;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
 import java.util.UUID;
 
 @Configuration(proxyBeanMethods = false)
+// Runs the key rotation of the JwkStore and the AuthorizationCleanupJob.
+@EnableScheduling
 public class AuthorizationServerConfig {
 
-    private static KeyPair generateRsaKey() throws NoSuchAlgorithmException {
-        KeyPairGenerator keyPairGenerator =
-                KeyPairGenerator.getInstance("RSA");
-        keyPairGenerator.initialize(2048);
-        return keyPairGenerator.generateKeyPair();
-    }
-
-    private static RSAKey generateRsa() throws NoSuchAlgorithmException {
-        KeyPair keyPair = generateRsaKey();
-        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
-        RSAPrivateKey privateKey = (RSAPrivateKey) keyPair.getPrivate();
-        return new RSAKey.Builder(publicKey)
-                .privateKey(privateKey)
-                .keyID(UUID.randomUUID().toString())
-                .build();
-    }
-
     @Bean
     @Order(Ordered.HIGHEST_PRECEDENCE)
     public SecurityFilterChain authorizationServerSecurityFilterChain(HttpSecurity http) throws Exception {
@@ -56,9 +47,37 @@ public class AuthorizationServerConfig {
         return http.formLogin(Customizer.withDefaults()).build();
     }
 
+    // Clients, authorizations and consents live in the database so every node of the server sees the same ones.
+    @Bean
+    public RegisteredClientRepository registeredClientRepository(JdbcTemplate jdbcTemplate,
+                                                                 PasswordEncoder passwordEncoder,
+                                                                 AuthorizationStoreProps storeProps) {
+        RegisteredClientRepository repository =
+                new CachingRegisteredClientRepository(new JdbcRegisteredClientRepository(jdbcTemplate), storeProps);
+        if (repository.findByClientId("taco-admin-client") == null) {
+            try {
+                repository.save(tacoAdminClient(passwordEncoder));
+            } catch (DuplicateKeyException e) {
+                // Another node registered it first.
+            }
+        }
+        return repository;
+    }
+
+    @Bean
+    public OAuth2AuthorizationService authorizationService(JdbcTemplate jdbcTemplate,
+                                                           RegisteredClientRepository registeredClientRepository) {
+        return new JdbcOAuth2AuthorizationService(jdbcTemplate, registeredClientRepository);
+    }
+
     @Bean
-    public RegisteredClientRepository registeredClientRepository(PasswordEncoder passwordEncoder) {
-        RegisteredClient registeredClient = RegisteredClient
+    public OAuth2AuthorizationConsentService authorizationConsentService(
+            JdbcTemplate jdbcTemplate, RegisteredClientRepository registeredClientRepository) {
+        return new JdbcOAuth2AuthorizationConsentService(jdbcTemplate, registeredClientRepository);
+    }
+
+    private static RegisteredClient tacoAdminClient(PasswordEncoder passwordEncoder) {
+        return RegisteredClient
                 .withId(UUID.randomUUID().toString())
                 .clientId("taco-admin-client")
                 .clientSecret(passwordEncoder.encode("secret"))
@@ -69,23 +88,20 @@ public class AuthorizationServerConfig {
                         "http://127.0.0.1:9090/login/oauth2/code/taco-admin-client")
                 .scope("writeIngredients")
                 .scope("deleteIngredients")
+                .scope("writeOrders")
+                .scope("readOrders")
                 .scope(OidcScopes.OPENID)
                 .build();
-
-        return new InMemoryRegisteredClientRepository(registeredClient);
     }
 
     @Bean
-    public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource) {
-        return OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource);
+    public JwtDecoder jwtDecoder(JwkStore jwkStore, JwkProps jwkProps) {
+        return new CachingJwtDecoder(jwkStore, jwkProps.getDecoderCacheSize());
     }
 
+    // Signs with the current key only, the JWK set endpoint still publishes the retired ones through the JwkStore.
     @Bean
-    public JWKSource<SecurityContext> jwkSource()
-            throws NoSuchAlgorithmException
-    {
-        RSAKey rsaKey = generateRsa();
-        JWKSet jwkSet = new JWKSet(rsaKey);
-        return (jwkSelector, securityContext) -> jwkSelector.select(jwkSet);
+    public JwtEncoder jwtEncoder(JwkStore jwkStore) {
+        return new NimbusJwtEncoder((jwkSelector, context) -> jwkSelector.select(new JWKSet(jwkStore.signingKey())));
     }
 }
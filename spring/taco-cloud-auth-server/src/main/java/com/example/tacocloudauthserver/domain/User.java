@@ -24,12 +24,6 @@ public class User implements UserDetails {
     private final String password;
     private final String role;
 
-    public User(String username, String password, String role) {
-        this.username = username;
-        this.password = password;
-        this.role = role;
-    }
-
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private Long id;
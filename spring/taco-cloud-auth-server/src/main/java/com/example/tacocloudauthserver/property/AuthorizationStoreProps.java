@@ -0,0 +1,21 @@
+package com.example.tacocloudauthserver.property;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("taco.auth.store")
+@Data
+public class AuthorizationStoreProps {
+    // Near cache of registered clients, a change made through another node shows up here after clientCacheTtl.
+    private int clientCacheSize = 1000;
+    private Duration clientCacheTtl = Duration.ofMinutes(1);
+
+    // Authorizations whose tokens all expired more than cleanupRetention ago are deleted, cleanupBatchSize at a time.
+    private Duration cleanupRetention = Duration.ofDays(1);
+    private int cleanupBatchSize = 500;
+    private Duration cleanupInterval = Duration.ofMinutes(15);
+}
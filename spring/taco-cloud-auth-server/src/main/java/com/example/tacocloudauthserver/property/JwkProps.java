@@ -0,0 +1,24 @@
+package com.example.tacocloudauthserver.property;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("taco.auth.jwk")
+@Data
+public class JwkProps {
+    // Holds the private signing key, keep it out of the repository and readable by the server only.
+    private Path keyStore = Path.of("keys", "jwks.json");
+    private int keySize = 2048;
+
+    private Duration rotationInterval = Duration.ofDays(30);
+    // How long a retired key still verifies tokens, at least the lifetime of the longest lived token.
+    private Duration gracePeriod = Duration.ofDays(1);
+    private Duration rotationCheckInterval = Duration.ofHours(1);
+
+    private int decoderCacheSize = 10_000;
+}
@@ -0,0 +1,73 @@
+package com.example.tacocloudauthserver.service;
+
+import com.example.tacocloudauthserver.property.AuthorizationStoreProps;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+
+/*
+* The JDBC authorization service never deletes an authorization, it only stops being useful once its tokens expired.
+* This job deletes those rows in small batches so no single statement locks the table for long. Authorizations that
+* never got a token, e.g. a consent the user abandoned, have no expiry to go by and are left alone.
+* */
+@Component
+@Slf4j
+public class AuthorizationCleanupJob {
+
+    private static final String[] EXPIRY_COLUMNS = {"authorization_code_expires_at", "access_token_expires_at",
+                                                    "oidc_id_token_expires_at", "refresh_token_expires_at",
+                                                    "user_code_expires_at", "device_code_expires_at"};
+
+    private static final String DELETE_EXPIRED = deleteExpired();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration retention;
+    private final int batchSize;
+    private final Clock clock;
+
+    @Autowired
+    public AuthorizationCleanupJob(JdbcTemplate jdbcTemplate, AuthorizationStoreProps props) {
+        this(jdbcTemplate, props, Clock.systemUTC());
+    }
+
+    AuthorizationCleanupJob(JdbcTemplate jdbcTemplate, AuthorizationStoreProps props, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = props.getCleanupRetention();
+        this.batchSize = props.getCleanupBatchSize();
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "#{@authorizationStoreProps.cleanupInterval.toMillis()}")
+    public int removeExpiredAuthorizations() {
+        Timestamp expiredBefore = Timestamp.from(clock.instant().minus(retention));
+        Object[] parameters = new Object[EXPIRY_COLUMNS.length + 1];
+        for (int i = 0; i < EXPIRY_COLUMNS.length; i++) parameters[i] = expiredBefore;
+        parameters[EXPIRY_COLUMNS.length] = batchSize;
+
+        int removed = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update(DELETE_EXPIRED, parameters);
+            removed += batch;
+        } while (batch == batchSize);
+
+        if (removed > 0) log.info("Removed {} expired authorizations", removed);
+        return removed;
+    }
+
+    private static String deleteExpired() {
+        StringBuilder sql = new StringBuilder("DELETE FROM oauth2_authorization WHERE id IN (SELECT id FROM oauth2_authorization WHERE COALESCE(")
+                .append(String.join(", ", EXPIRY_COLUMNS))
+                .append(") IS NOT NULL");
+        for (String column : EXPIRY_COLUMNS) {
+            sql.append(" AND (").append(column).append(" IS NULL OR ").append(column).append(" < ?)");
+        }
+        return sql.append(" FETCH FIRST ? ROWS ONLY)").toString();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.tacocloudauthserver.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.proc.JWSKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+* JwtDecoder for the tokens signed by the JwkStore. The RSA public keys are converted once per key set instead of on
+* every decode, and a verified token is remembered until it expires, so a token presented again skips the signature
+* check. Tokens without an expiry are verified every time.
+* */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> verified;
+
+    public CachingJwtDecoder(JwkStore jwkStore, int cacheSize) {
+        this(nimbusDecoder(jwkStore), cacheSize);
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, int cacheSize) {
+        this.delegate = delegate;
+        this.verified = Caffeine.newBuilder()
+                                .maximumSize(cacheSize)
+                                .expireAfter(new UntilTokenExpiry())
+                                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jwt jwt = verified.getIfPresent(token);
+        if (jwt != null) return jwt;
+
+        jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null) verified.put(token, jwt);
+        return jwt;
+    }
+
+    private static NimbusJwtDecoder nimbusDecoder(JwkStore jwkStore) {
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new CachingKeySelector(jwkStore));
+        // Claims are validated by the NimbusJwtDecoder, like the decoder of the authorization server configuration.
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        return new NimbusJwtDecoder(jwtProcessor);
+    }
+
+    // Public keys by key id, rebuilt whenever the store publishes a different key set.
+    private static class CachingKeySelector implements JWSKeySelector<SecurityContext> {
+
+        private final JwkStore jwkStore;
+        private volatile KeysOfSet cached = new KeysOfSet(null, Map.of());
+
+        CachingKeySelector(JwkStore jwkStore) {
+            this.jwkStore = jwkStore;
+        }
+
+        @Override
+        public List<? extends Key> selectJWSKeys(JWSHeader header, SecurityContext context) {
+            if (!JWSAlgorithm.Family.RSA.contains(header.getAlgorithm()) || header.getKeyID() == null) return List.of();
+
+            JWKSet keys = jwkStore.keys();
+            KeysOfSet current = cached;
+            if (current.keys() != keys) {
+                current = new KeysOfSet(keys, publicKeys(keys));
+                cached = current;
+            }
+
+            Key key = current.publicKeys().get(header.getKeyID());
+            return key == null ? List.of() : List.of(key);
+        }
+
+        private static Map<String, Key> publicKeys(JWKSet keys) {
+            Map<String, Key> publicKeys = new HashMap<>();
+            for (JWK key : keys.getKeys()) {
+                if (!(key instanceof RSAKey rsaKey)) continue;
+                try {
+                    publicKeys.put(rsaKey.getKeyID(), rsaKey.toRSAPublicKey());
+                } catch (JOSEException e) {
+                    throw new IllegalStateException("Key " + rsaKey.getKeyID() + " is not a valid RSA key", e);
+                }
+            }
+            return publicKeys;
+        }
+
+        private record KeysOfSet(JWKSet keys, Map<String, Key> publicKeys) {
+        }
+    }
+
+    private static class UntilTokenExpiry implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String token, Jwt jwt, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
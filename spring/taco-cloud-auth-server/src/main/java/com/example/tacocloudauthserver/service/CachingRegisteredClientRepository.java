@@ -0,0 +1,48 @@
+package com.example.tacocloudauthserver.service;
+
+import com.example.tacocloudauthserver.property.AuthorizationStoreProps;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+
+/*
+* Near cache in front of the shared registered client store. Every token request and every authorization read from
+* the database resolves its client, the cache answers those without a query. Saves through this node evict the client
+* right away, saves through other nodes once the entry expires. Unknown clients are not cached.
+* */
+public class CachingRegisteredClientRepository implements RegisteredClientRepository {
+
+    private final RegisteredClientRepository delegate;
+    private final Cache<String, RegisteredClient> byId;
+    private final Cache<String, RegisteredClient> byClientId;
+
+    public CachingRegisteredClientRepository(RegisteredClientRepository delegate, AuthorizationStoreProps props) {
+        this.delegate = delegate;
+        this.byId = Caffeine.newBuilder()
+                            .maximumSize(props.getClientCacheSize())
+                            .expireAfterWrite(props.getClientCacheTtl())
+                            .build();
+        this.byClientId = Caffeine.newBuilder()
+                                  .maximumSize(props.getClientCacheSize())
+                                  .expireAfterWrite(props.getClientCacheTtl())
+                                  .build();
+    }
+
+    @Override
+    public void save(RegisteredClient registeredClient) {
+        delegate.save(registeredClient);
+        byId.invalidate(registeredClient.getId());
+        byClientId.invalidate(registeredClient.getClientId());
+    }
+
+    @Override
+    public RegisteredClient findById(String id) {
+        return byId.get(id, delegate::findById);
+    }
+
+    @Override
+    public RegisteredClient findByClientId(String clientId) {
+        return byClientId.get(clientId, delegate::findByClientId);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.tacocloudauthserver.service;
+
+import com.example.tacocloudauthserver.property.JwkProps;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/*
+* RSA keys of the authorization server, kept in a JWK set file so tokens survive a restart. The newest key signs, it is
+* replaced every rotationInterval. A replaced key loses its private part but stays published for gracePeriod, so tokens
+* it signed still verify until they expire, then it is dropped.
+* */
+@Service
+@Slf4j
+public class JwkStore implements JWKSource<SecurityContext> {
+
+    private final Path keyStore;
+    private final int keySize;
+    private final Duration rotationInterval;
+    private final Duration gracePeriod;
+    private final Clock clock;
+
+    private volatile JWKSet keys;
+    private volatile RSAKey signingKey;
+
+    @Autowired
+    public JwkStore(JwkProps props) {
+        this(props, Clock.systemUTC());
+    }
+
+    JwkStore(JwkProps props, Clock clock) {
+        this.keyStore = props.getKeyStore();
+        this.keySize = props.getKeySize();
+        this.rotationInterval = props.getRotationInterval();
+        this.gracePeriod = props.getGracePeriod();
+        this.clock = clock;
+
+        this.keys = load();
+        this.signingKey = findSigningKey(keys);
+        rotateIfDue();
+    }
+
+    // Every published key, the signing key and the retired ones still within their grace period.
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        return jwkSelector.select(keys);
+    }
+
+    public JWKSet keys() {
+        return keys;
+    }
+
+    public RSAKey signingKey() {
+        return signingKey;
+    }
+
+    // Reads the interval from the bound JwkProps, so its default and the configured value are the only sources.
+    @Scheduled(fixedDelayString = "#{@jwkProps.rotationCheckInterval.toMillis()}")
+    public synchronized void rotateIfDue() {
+        Instant now = clock.instant();
+        List<JWK> published = new ArrayList<>();
+        for (JWK key : keys.getKeys()) {
+            if (key.getExpirationTime() == null || key.getExpirationTime().toInstant().isAfter(now)) published.add(key);
+        }
+
+        RSAKey active = signingKey;
+        boolean due = active == null || !active.getIssueTime().toInstant().plus(rotationInterval).isAfter(now);
+        if (due) {
+            if (active != null) {
+                published.remove(active);
+                published.add(retire(active, now));
+            }
+            active = generate(now);
+            published.add(active);
+            log.info("Rotated the signing key, new key id {}", active.getKeyID());
+        }
+
+        if (due || published.size() != keys.size()) {
+            JWKSet updated = new JWKSet(published);
+            save(updated);
+            keys = updated;
+            signingKey = active;
+        }
+    }
+
+    private RSAKey generate(Instant now) {
+        try {
+            return new RSAKeyGenerator(keySize)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .keyID(UUID.randomUUID().toString())
+                    .issueTime(Date.from(now))
+                    .generate();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Could not generate an RSA key", e);
+        }
+    }
+
+    // Only verifies from now on, the private key is not needed anymore and is not written back to the file.
+    private RSAKey retire(RSAKey key, Instant now) {
+        return new RSAKey.Builder(key.toPublicJWK())
+                .expirationTime(Date.from(now.plus(gracePeriod)))
+                .build();
+    }
+
+    private static RSAKey findSigningKey(JWKSet keys) {
+        return keys.getKeys()
+                   .stream()
+                   .filter(key -> key instanceof RSAKey && key.isPrivate() && key.getExpirationTime() == null)
+                   .map(RSAKey.class::cast)
+                   .max(Comparator.comparing(JWK::getIssueTime))
+                   .orElse(null);
+    }
+
+    private JWKSet load() {
+        if (!Files.exists(keyStore)) return new JWKSet();
+        try {
+            return JWKSet.parse(Files.readString(keyStore, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the key store " + keyStore, e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Key store " + keyStore + " is not a JWK set", e);
+        }
+    }
+
+    // Written next to the key store and moved over it, a crash never leaves a half written file behind.
+    private void save(JWKSet updated) {
+        try {
+            Path directory = keyStore.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "jwks", ".tmp");
+            if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            }
+            Files.writeString(temp, updated.toString(false), StandardCharsets.UTF_8);
+            Files.move(temp, keyStore, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the key store " + keyStore, e);
+        }
+    }
+}
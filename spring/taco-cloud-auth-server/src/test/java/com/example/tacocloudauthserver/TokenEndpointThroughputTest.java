@@ -0,0 +1,122 @@
+package com.example.tacocloudauthserver;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+* Concurrent clients asking the token endpoint for client credentials tokens, every one of them is authenticated
+* against the registered client store and stored as an authorization. Reports the throughput and fails on any error.
+* Raise load.clients and load.seconds to turn it into a proper load test. Tagged performance, the default build skips
+* it, run it with mvn test -Pperformance.
+* */
+@Slf4j
+@Tag("performance")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = "taco.auth.jwk.keyStore=target/keys/jwks.json")
+class TokenEndpointThroughputTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 8);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 3));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RegisteredClientRepository registeredClientRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String clientId;
+
+    @BeforeEach
+    void registerClient() {
+        clientId = "load-client-" + UUID.randomUUID();
+        registeredClientRepository.save(RegisteredClient.withId(UUID.randomUUID().toString())
+                                                        .clientId(clientId)
+                                                        .clientSecret(passwordEncoder.encode("secret"))
+                                                        .clientAuthenticationMethod(ClientAuthenticationMethod.CLIENT_SECRET_BASIC)
+                                                        .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                                                        .scope("writeIngredients")
+                                                        .build());
+    }
+
+    @Test
+    void shouldIssueTokensToConcurrentClients() throws Exception {
+        HttpClient http = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/oauth2/token"))
+                                         .header("Authorization", "Basic " + Base64.getEncoder().encodeToString(
+                                                 (clientId + ":secret").getBytes(StandardCharsets.UTF_8)))
+                                         .header("Content-Type", "application/x-www-form-urlencoded")
+                                         .POST(HttpRequest.BodyPublishers.ofString(
+                                                 "grant_type=client_credentials&scope=writeIngredients"))
+                                         .build();
+        AtomicInteger issued = new AtomicInteger();
+        List<String> errors = new ArrayList<>();
+
+        long started = System.nanoTime();
+        long deadline = started + DURATION.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                running.add(clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() == 200 && response.body().contains("access_token")) {
+                            issued.incrementAndGet();
+                        } else {
+                            synchronized (errors) {
+                                errors.add(response.statusCode() + " " + response.body());
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : running) client.get();
+        } finally {
+            clients.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        log.info("Token endpoint: {} tokens for {} clients in {}s, {} tokens/s",
+                 issued.get(), CLIENTS, String.format("%.1f", seconds), String.format("%.1f", issued.get() / seconds));
+        assertThat(errors).isEmpty();
+        assertThat(issued.get()).isPositive();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM oauth2_authorization WHERE principal_name = ?",
+                                               Integer.class, clientId))
+                .isEqualTo(issued.get());
+    }
+}
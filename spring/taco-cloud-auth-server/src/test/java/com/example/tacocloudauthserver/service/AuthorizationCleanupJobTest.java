@@ -0,0 +1,112 @@
+package com.example.tacocloudauthserver.service;
+
+import com.example.tacocloudauthserver.property.AuthorizationStoreProps;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.server.authorization.JdbcOAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.client.JdbcRegisteredClientRepository;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against the tables of schema.sql, every test rolls back its rows.
+@JdbcTest
+class AuthorizationCleanupJobTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-01T10:00:00Z");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private RegisteredClient client;
+    private OAuth2AuthorizationService authorizationService;
+    private AuthorizationCleanupJob cleanupJob;
+
+    @BeforeEach
+    void setUp() {
+        client = RegisteredClient.withId(UUID.randomUUID().toString())
+                                 .clientId("cleanup-client")
+                                 .clientSecret("secret")
+                                 .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                                 .build();
+        JdbcRegisteredClientRepository clients = new JdbcRegisteredClientRepository(jdbcTemplate);
+        clients.save(client);
+        authorizationService = new JdbcOAuth2AuthorizationService(jdbcTemplate, clients);
+
+        AuthorizationStoreProps props = new AuthorizationStoreProps();
+        props.setCleanupRetention(Duration.ofDays(1));
+        props.setCleanupBatchSize(2);
+        cleanupJob = new AuthorizationCleanupJob(jdbcTemplate, props, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void shouldRemoveAuthorizationsExpiredLongerThanTheRetentionInBatches() {
+        for (int i = 0; i < 5; i++) save(accessToken(NOW.minus(Duration.ofDays(2))), null);
+        OAuth2Authorization recentlyExpired = save(accessToken(NOW.minus(Duration.ofHours(1))), null);
+        OAuth2Authorization valid = save(accessToken(NOW.plus(Duration.ofMinutes(5))), null);
+
+        assertThat(cleanupJob.removeExpiredAuthorizations()).isEqualTo(5);
+
+        assertThat(remainingIds()).containsExactlyInAnyOrder(recentlyExpired.getId(), valid.getId());
+        assertThat(cleanupJob.removeExpiredAuthorizations()).isZero();
+    }
+
+    @Test
+    void shouldKeepAnAuthorizationWhileItsRefreshTokenIsUsable() {
+        OAuth2RefreshToken refreshToken = new OAuth2RefreshToken(UUID.randomUUID().toString(),
+                                                                 NOW.minus(Duration.ofDays(30)),
+                                                                 NOW.plus(Duration.ofDays(30)));
+        OAuth2Authorization refreshable = save(accessToken(NOW.minus(Duration.ofDays(2))), refreshToken);
+
+        assertThat(cleanupJob.removeExpiredAuthorizations()).isZero();
+        assertThat(remainingIds()).containsExactly(refreshable.getId());
+    }
+
+    @Test
+    void shouldLeaveAuthorizationsWithoutTokensAlone() {
+        OAuth2Authorization pending = OAuth2Authorization.withRegisteredClient(client)
+                                                         .principalName("taco")
+                                                         .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+                                                         .attribute(OAuth2Authorization.Token.class.getName(), "pending")
+                                                         .build();
+        authorizationService.save(pending);
+
+        assertThat(cleanupJob.removeExpiredAuthorizations()).isZero();
+        assertThat(remainingIds()).containsExactly(pending.getId());
+    }
+
+    private OAuth2Authorization save(OAuth2AccessToken accessToken, OAuth2RefreshToken refreshToken) {
+        OAuth2Authorization.Builder builder = OAuth2Authorization.withRegisteredClient(client)
+                                                                 .principalName(client.getClientId())
+                                                                 .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                                                                 .accessToken(accessToken);
+        if (refreshToken != null) builder.refreshToken(refreshToken);
+        OAuth2Authorization authorization = builder.build();
+        authorizationService.save(authorization);
+        return authorization;
+    }
+
+    private static OAuth2AccessToken accessToken(Instant expiresAt) {
+        return new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, UUID.randomUUID().toString(),
+                                     expiresAt.minus(Duration.ofMinutes(5)), expiresAt);
+    }
+
+    private List<String> remainingIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM oauth2_authorization", String.class);
+    }
+}
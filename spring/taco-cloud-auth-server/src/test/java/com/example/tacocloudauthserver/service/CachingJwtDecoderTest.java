@@ -0,0 +1,56 @@
+package com.example.tacocloudauthserver.service;
+
+import com.example.tacocloudauthserver.property.JwkProps;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingJwtDecoderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldVerifyAHotTokenOnlyOnce() {
+        JwkStore store = store();
+        CachingJwtDecoder verifying = new CachingJwtDecoder(store, 100);
+        AtomicInteger verifications = new AtomicInteger();
+        JwtDecoder counting = token -> {
+            verifications.incrementAndGet();
+            return verifying.decode(token);
+        };
+        CachingJwtDecoder decoder = new CachingJwtDecoder(counting, 100);
+
+        String token = JwkStoreTest.sign(store);
+        for (int i = 0; i < 10; i++) assertThat(decoder.decode(token).getSubject()).isEqualTo("habuma");
+
+        assertThat(verifications).hasValue(1);
+    }
+
+    @Test
+    void shouldRejectATokenSignedWithAnotherKey() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(store(), 100);
+        String foreignToken = JwkStoreTest.sign(new JwkStore(props(directory.resolve("other.json"))));
+
+        assertThatThrownBy(() -> decoder.decode(foreignToken)).isInstanceOf(JwtException.class);
+        // A failed token is not remembered either.
+        assertThatThrownBy(() -> decoder.decode(foreignToken)).isInstanceOf(JwtException.class);
+    }
+
+    private JwkStore store() {
+        return new JwkStore(props(directory.resolve("jwks.json")));
+    }
+
+    private static JwkProps props(Path keyStore) {
+        JwkProps props = new JwkProps();
+        props.setKeyStore(keyStore);
+        return props;
+    }
+}
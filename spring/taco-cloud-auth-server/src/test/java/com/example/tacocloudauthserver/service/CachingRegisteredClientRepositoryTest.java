@@ -0,0 +1,81 @@
+package com.example.tacocloudauthserver.service;
+
+import com.example.tacocloudauthserver.property.AuthorizationStoreProps;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.server.authorization.client.InMemoryRegisteredClientRepository;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingRegisteredClientRepositoryTest {
+
+    private final CountingRepository store = new CountingRepository(client("taco-client", "secret"));
+    private final CachingRegisteredClientRepository repository =
+            new CachingRegisteredClientRepository(store, new AuthorizationStoreProps());
+
+    @Test
+    void shouldAnswerRepeatedLookupsFromTheCache() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(repository.findByClientId("taco-client").getId()).isEqualTo("taco-client-id");
+            assertThat(repository.findById("taco-client-id").getClientId()).isEqualTo("taco-client");
+        }
+
+        assertThat(store.lookups).hasValue(2);
+    }
+
+    @Test
+    void shouldReadASavedClientBackRightAway() {
+        repository.findByClientId("taco-client");
+
+        repository.save(client("taco-client", "rotated"));
+
+        assertThat(repository.findByClientId("taco-client").getClientSecret()).isEqualTo("rotated");
+    }
+
+    @Test
+    void shouldNotRememberUnknownClients() {
+        assertThat(repository.findByClientId("late-client")).isNull();
+
+        store.save(client("late-client", "late-secret"));
+
+        assertThat(repository.findByClientId("late-client")).isNotNull();
+    }
+
+    private static RegisteredClient client(String clientId, String secret) {
+        return RegisteredClient.withId(clientId + "-id")
+                               .clientId(clientId)
+                               .clientSecret(secret)
+                               .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                               .build();
+    }
+
+    private static class CountingRepository implements RegisteredClientRepository {
+        private final InMemoryRegisteredClientRepository clients;
+        final AtomicInteger lookups = new AtomicInteger();
+
+        CountingRepository(RegisteredClient client) {
+            this.clients = new InMemoryRegisteredClientRepository(client);
+        }
+
+        @Override
+        public void save(RegisteredClient registeredClient) {
+            clients.save(registeredClient);
+        }
+
+        @Override
+        public RegisteredClient findById(String id) {
+            lookups.incrementAndGet();
+            return clients.findById(id);
+        }
+
+        @Override
+        public RegisteredClient findByClientId(String clientId) {
+            lookups.incrementAndGet();
+            return clients.findByClientId(clientId);
+        }
+    }
+}
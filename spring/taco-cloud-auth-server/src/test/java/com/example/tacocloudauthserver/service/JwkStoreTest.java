@@ -0,0 +1,114 @@
+package com.example.tacocloudauthserver.service;
+
+import com.example.tacocloudauthserver.property.JwkProps;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwkStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-03-01T10:00:00Z"));
+
+    @Test
+    void shouldKeepTheSigningKeyAcrossRestarts() {
+        JwkStore store = new JwkStore(props(), clock);
+        JwkStore restarted = new JwkStore(props(), clock);
+
+        assertThat(restarted.signingKey()).isEqualTo(store.signingKey());
+        assertThat(restarted.keys().getKeys()).hasSize(1);
+    }
+
+    @Test
+    void shouldPublishARetiredKeyUntilItsGracePeriodEnds() {
+        JwkStore store = new JwkStore(props(), clock);
+        String token = sign(store);
+        String retiredKeyId = store.signingKey().getKeyID();
+
+        clock.advance(Duration.ofDays(30));
+        store.rotateIfDue();
+
+        assertThat(store.signingKey().getKeyID()).isNotEqualTo(retiredKeyId);
+        JWK retired = store.keys().getKeyByKeyId(retiredKeyId);
+        assertThat(retired.isPrivate()).isFalse();
+        assertThat(new JwkStore(props(), clock).keys()).extracting(JWKSet::getKeys).asList().hasSize(2);
+        assertThat(decoder(store).decode(token).getSubject()).isEqualTo("habuma");
+
+        clock.advance(Duration.ofDays(1));
+        store.rotateIfDue();
+
+        assertThat(store.keys().getKeys()).extracting(JWK::getKeyID).containsExactly(store.signingKey().getKeyID());
+        assertThatThrownBy(() -> decoder(store).decode(token)).isInstanceOf(JwtException.class);
+    }
+
+    private JwkProps props() {
+        JwkProps props = new JwkProps();
+        props.setKeyStore(directory.resolve("jwks.json"));
+        props.setRotationInterval(Duration.ofDays(30));
+        props.setGracePeriod(Duration.ofDays(1));
+        return props;
+    }
+
+    private static CachingJwtDecoder decoder(JwkStore store) {
+        return new CachingJwtDecoder(store, 100);
+    }
+
+    static String sign(JwkStore store) {
+        NimbusJwtEncoder encoder = new NimbusJwtEncoder(
+                (jwkSelector, context) -> jwkSelector.select(new JWKSet(store.signingKey())));
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                                          .subject("habuma")
+                                          .issuedAt(now)
+                                          .expiresAt(now.plus(Duration.ofMinutes(5)))
+                                          .build();
+        return encoder.encode(JwtEncoderParameters.from(JwsHeader.with(SignatureAlgorithm.RS256).build(), claims))
+                      .getTokenValue();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package sia.tacocloud.benchmarks;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import sia.tacocloud.domain.Taco;
+import sia.tacocloud.repository.TacoRepository;
+
+import java.util.List;
+
+/*
+* A request the way most taco-cloud requests look: some blocking I/O that does not need the database, like a call to
+* another service, followed by a JPA query that holds a pooled connection for a while.
+* */
+@RestController
+public class BlockingTacoController {
+
+    private final TacoRepository tacoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public BlockingTacoController(TacoRepository tacoRepository, TransactionTemplate transactionTemplate) {
+        this.tacoRepository = tacoRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @GetMapping("/load/tacos")
+    public List<String> recentTacos(@RequestParam(name = "ioMillis", defaultValue = "50") long ioMillis,
+                                    @RequestParam(name = "dbMillis", defaultValue = "5") long dbMillis)
+            throws InterruptedException
+    {
+        Thread.sleep(ioMillis);
+
+        return transactionTemplate.execute(status -> {
+            List<String> names = tacoRepository.findAll(PageRequest.of(0, 12)).map(Taco::getName).toList();
+            // Stands in for a slower query, the connection stays checked out meanwhile.
+            sleep(dbMillis);
+            return names;
+        });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
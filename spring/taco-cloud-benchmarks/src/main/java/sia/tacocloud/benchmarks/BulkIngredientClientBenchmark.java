@@ -0,0 +1,66 @@
+package sia.tacocloud.benchmarks;
+
+import com.example.tacocloudclient.BulkIngredientClient;
+import com.example.tacocloudclient.BulkResult;
+import com.example.tacocloudclient.Config;
+import com.example.tacocloudclient.Ingredient;
+import com.example.tacocloudclient.TacoClientProps;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/*
+* Ingredients per second BulkIngredientClient fetches when it fans 10k ids out over WebClient, against a local stub of
+* the ingredients API that takes delayMillis to answer each one. With a slow server the throughput grows with the
+* concurrency cap until the stub or the connection pool becomes the limit.
+* */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BulkIngredientClientBenchmark.IDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkIngredientClientBenchmark {
+
+    static final int IDS = 10_000;
+
+    @Param({"16", "64", "256"})
+    public int concurrency;
+
+    @Param({"5"})
+    public long delayMillis;
+
+    private IngredientApiStub stub;
+    private BulkIngredientClient client;
+    private List<String> ids;
+
+    @Setup
+    public void setUp() throws Exception {
+        stub = IngredientApiStub.start(delayMillis);
+
+        TacoClientProps props = new TacoClientProps();
+        props.setBaseUrl(stub.baseUrl());
+        props.setMaxConnections(concurrency);
+        props.setBulkConcurrency(concurrency);
+        props.setCallTimeout(Duration.ofSeconds(10));
+        client = new BulkIngredientClient(new Config().webClient(props), props);
+
+        ids = IntStream.range(0, IDS).mapToObj(i -> "I" + i).toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        stub.close();
+    }
+
+    @Benchmark
+    public BulkResult<Ingredient> getIngredientsByIds() {
+        BulkResult<Ingredient> result = client.getIngredientsByIds(ids).block();
+        if (!result.isComplete()) throw new IllegalStateException(result.getFailed().size() + " lookups failed");
+        return result;
+    }
+}
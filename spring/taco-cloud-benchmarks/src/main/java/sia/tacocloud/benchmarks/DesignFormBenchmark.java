@@ -0,0 +1,59 @@
+package sia.tacocloud.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.ui.Model;
+import sia.tacocloud.controller.DesignTacoController;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.Ingredient.Type;
+import sia.tacocloud.service.IngredientCatalogService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+* Cost of preparing the ingredient groups of the design form. The scan benchmark keeps the filterByType approach the
+* controller used before the ingredient catalog as a baseline.
+* */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DesignFormBenchmark {
+
+    private DesignTacoController designTacoController;
+    private List<Ingredient> ingredients;
+
+    @Setup
+    public void setUp() {
+        designTacoController = new DesignTacoController(
+                new IngredientCatalogService(new InMemoryIngredientRepository(TacoFixtures.INGREDIENTS)));
+        ingredients = TacoFixtures.INGREDIENTS;
+    }
+
+    @Benchmark
+    public Model showDesignForm() {
+        Model model = new ExtendedModelMap();
+        designTacoController.showDesignForm(model);
+        return model;
+    }
+
+    @Benchmark
+    public Model filterByTypeScan() {
+        Model model = new ExtendedModelMap();
+        for (Type type : Type.values()) model.addAttribute(type.toString().toLowerCase(), filterByType(type));
+        return model;
+    }
+
+    private List<Ingredient> filterByType(Type type) {
+        List<Ingredient> filteredList = new ArrayList<>();
+
+        for (Ingredient ingredient : ingredients)
+            if (ingredient.getType().equals(type)) filteredList.add(ingredient);
+
+        return filteredList;
+    }
+}
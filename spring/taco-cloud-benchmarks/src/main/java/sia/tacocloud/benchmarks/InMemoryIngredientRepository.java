@@ -0,0 +1,84 @@
+package sia.tacocloud.benchmarks;
+
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.repository.IngredientRepository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Keeps the benchmarks about the code under test instead of the database.
+class InMemoryIngredientRepository implements IngredientRepository {
+
+    private final Map<String, Ingredient> ingredients = new LinkedHashMap<>();
+
+    InMemoryIngredientRepository(List<Ingredient> ingredients) {
+        ingredients.forEach(this::save);
+    }
+
+    @Override
+    public <S extends Ingredient> S save(S ingredient) {
+        ingredients.put(ingredient.getId(), ingredient);
+        return ingredient;
+    }
+
+    @Override
+    public <S extends Ingredient> Iterable<S> saveAll(Iterable<S> entities) {
+        entities.forEach(this::save);
+        return entities;
+    }
+
+    @Override
+    public Optional<Ingredient> findById(String id) {
+        return Optional.ofNullable(ingredients.get(id));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return ingredients.containsKey(id);
+    }
+
+    @Override
+    public Iterable<Ingredient> findAll() {
+        return new ArrayList<>(ingredients.values());
+    }
+
+    @Override
+    public Iterable<Ingredient> findAllById(Iterable<String> ids) {
+        List<Ingredient> found = new ArrayList<>();
+        ids.forEach(id -> findById(id).ifPresent(found::add));
+        return found;
+    }
+
+    @Override
+    public long count() {
+        return ingredients.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        ingredients.remove(id);
+    }
+
+    @Override
+    public void delete(Ingredient ingredient) {
+        ingredients.remove(ingredient.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(ingredients::remove);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Ingredient> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        ingredients.clear();
+    }
+}
@@ -0,0 +1,72 @@
+package sia.tacocloud.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+* Local stand-in for the taco-cloud ingredients API, so client benchmarks measure the HTTP client and not the server.
+* GET /api/ingredients/{id} answers any id with a small ingredient document after an optional delay, PUT echoes the
+* ingredient it was sent.
+* */
+final class IngredientApiStub implements AutoCloseable {
+
+    static {
+        // Headers and body are written separately, with Nagle on every response waits for the client's delayed ACK.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        // Beyond 200 idle connections the server closes them, pooled clients would then write to closed sockets.
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "1024");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long delayMillis;
+
+    private IngredientApiStub(long delayMillis) throws IOException {
+        this.delayMillis = delayMillis;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.createContext("/api/ingredients/", this::ingredient);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    static IngredientApiStub start(long delayMillis) throws IOException {
+        return new IngredientApiStub(delayMillis);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void ingredient(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String id = path.substring(path.lastIndexOf('/') + 1);
+        byte[] body = exchange.getRequestMethod().equals("PUT")
+                ? exchange.getRequestBody().readAllBytes()
+                : ("{\"id\":\"" + id + "\",\"name\":\"Ingredient " + id + "\",\"type\":\"VEGGIES\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+}
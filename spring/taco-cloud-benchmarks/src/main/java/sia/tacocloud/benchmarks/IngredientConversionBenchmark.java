@@ -0,0 +1,52 @@
+package sia.tacocloud.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.convert.TypeDescriptor;
+import sia.tacocloud.convert.IngredientByIdConverter;
+import sia.tacocloud.convert.IngredientsByIdsConverter;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.service.IngredientCatalogService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of turning the ingredient ids of a posted taco form into ingredients.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IngredientConversionBenchmark {
+
+    private static final TypeDescriptor IDS = TypeDescriptor.valueOf(String[].class);
+    private static final TypeDescriptor INGREDIENTS =
+            TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Ingredient.class));
+
+    private IngredientByIdConverter ingredientByIdConverter;
+    private IngredientsByIdsConverter ingredientsByIdsConverter;
+
+    @Setup
+    public void setUp() {
+        IngredientCatalogService catalog = new IngredientCatalogService(
+                new InMemoryIngredientRepository(TacoFixtures.INGREDIENTS));
+        ingredientByIdConverter = new IngredientByIdConverter(catalog);
+        ingredientsByIdsConverter = new IngredientsByIdsConverter(catalog);
+    }
+
+    @Benchmark
+    public Ingredient convertSingleId() {
+        return ingredientByIdConverter.convert("CARN");
+    }
+
+    @Benchmark
+    public void convertTacoSelectionOneByOne(Blackhole blackhole) {
+        for (String id : TacoFixtures.TACO_INGREDIENT_IDS) blackhole.consume(ingredientByIdConverter.convert(id));
+    }
+
+    @Benchmark
+    public Object convertTacoSelectionInBatch() {
+        return ingredientsByIdsConverter.convert(TacoFixtures.TACO_INGREDIENT_IDS, IDS, INGREDIENTS);
+    }
+}
@@ -0,0 +1,70 @@
+package sia.tacocloud.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+* Local stand-in for the introspection endpoint of taco-cloud-auth-server. POST /oauth2/introspect reports every
+* token active for another hour after an optional delay, the way a remote auth server would answer.
+* */
+final class IntrospectionStub implements AutoCloseable {
+
+    static {
+        // Same reasons as in IngredientApiStub.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "1024");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long delayMillis;
+
+    private IntrospectionStub(long delayMillis) throws IOException {
+        this.delayMillis = delayMillis;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.createContext("/oauth2/introspect", this::introspect);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    static IntrospectionStub start(long delayMillis) throws IOException {
+        return new IntrospectionStub(delayMillis);
+    }
+
+    String introspectionUri() {
+        return "http://localhost:" + server.getAddress().getPort() + "/oauth2/introspect";
+    }
+
+    private void introspect(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        long expiresAt = Instant.now().plusSeconds(3600).getEpochSecond();
+        byte[] body = ("{\"active\":true,\"sub\":\"taco\",\"client_id\":\"taco-admin-client\"," +
+                       "\"scope\":\"writeIngredients deleteIngredients\",\"token_type\":\"Bearer\",\"exp\":" +
+                       expiresAt + "}").getBytes(StandardCharsets.UTF_8);
+
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+}
@@ -0,0 +1,52 @@
+package sia.tacocloud.benchmarks;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import sia.tacocloud.configuration.ThreadingConfig;
+import sia.tacocloud.domain.Taco;
+import sia.tacocloud.domain.TacoOrder;
+import sia.tacocloud.property.ThreadingProps;
+import sia.tacocloud.repository.IngredientRepository;
+import sia.tacocloud.repository.OrderRepository;
+import sia.tacocloud.repository.TacoReactiveRepository;
+import sia.tacocloud.repository.TacoRepository;
+
+/*
+* The slice of taco-cloud the load test runs against: the JPA repositories, the threading configuration and a
+* controller with a blocking JPA call. Security is left out so the load generator does not need to log in.
+* */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {SecurityAutoConfiguration.class, SecurityFilterAutoConfiguration.class,
+                                    UserDetailsServiceAutoConfiguration.class,
+                                    ManagementWebSecurityAutoConfiguration.class})
+@EntityScan(basePackageClasses = TacoOrder.class)
+@EnableJpaRepositories(basePackageClasses = OrderRepository.class,
+                       excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                                                              classes = TacoReactiveRepository.class))
+@Import({ThreadingConfig.class, ThreadingProps.class, BlockingTacoController.class})
+public class LoadTestApplication {
+
+    @Bean
+    public ApplicationRunner tacoLoader(IngredientRepository ingredientRepository, TacoRepository tacoRepository) {
+        return args -> {
+            ingredientRepository.saveAll(TacoFixtures.INGREDIENTS);
+            for (int i = 0; i < 12; i++) {
+                Taco taco = new Taco();
+                taco.setName("Carnivore " + i);
+                taco.setIngredients(TacoFixtures.INGREDIENTS.subList(0, 6));
+                tacoRepository.save(taco);
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package sia.tacocloud.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import sia.tacocloud.configuration.SecurityConfig;
+import sia.tacocloud.property.SecurityProps;
+
+import java.util.concurrent.TimeUnit;
+
+// Login latency per taco.security.bcryptStrength, to pick the strength the login bursts can afford.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    @Param({"4", "8", "10", "12"})
+    private int bcryptStrength;
+
+    private PasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        SecurityProps securityProps = new SecurityProps();
+        securityProps.setBcryptStrength(bcryptStrength);
+
+        passwordEncoder = new SecurityConfig().passwordEncoder(securityProps);
+        encodedPassword = passwordEncoder.encode("password");
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("password");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("password", encodedPassword);
+    }
+}
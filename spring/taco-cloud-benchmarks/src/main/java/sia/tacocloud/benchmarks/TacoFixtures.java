@@ -0,0 +1,53 @@
+package sia.tacocloud.benchmarks;
+
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.Ingredient.Type;
+import sia.tacocloud.domain.Taco;
+import sia.tacocloud.domain.TacoOrder;
+
+import java.util.List;
+
+// Same reference data the taco-cloud data loader puts in the database.
+final class TacoFixtures {
+
+    static final List<Ingredient> INGREDIENTS = List.of(
+            new Ingredient("FLTO", "Flour Tortilla", Type.WRAP),
+            new Ingredient("COTO", "Corn Tortilla", Type.WRAP),
+            new Ingredient("GRBF", "Ground Beef", Type.PROTEIN),
+            new Ingredient("CARN", "Carnitas", Type.PROTEIN),
+            new Ingredient("TMTO", "Diced Tomatoes", Type.VEGGIES),
+            new Ingredient("LETC", "Lettuce", Type.VEGGIES),
+            new Ingredient("CHED", "Cheddar", Type.CHEESE),
+            new Ingredient("JACK", "Monterrey Jack", Type.CHEESE),
+            new Ingredient("SLSA", "Salsa", Type.SAUCE),
+            new Ingredient("SRCR", "Sour Cream", Type.SAUCE));
+
+    // The ids a "Carnivore" taco is posted with.
+    static final String[] TACO_INGREDIENT_IDS = {"FLTO", "GRBF", "CARN", "SRCR", "SLSA", "CHED"};
+
+    private TacoFixtures() {
+    }
+
+    static TacoOrder order(int tacos) {
+        TacoOrder order = new TacoOrder();
+        order.setId(42L);
+        order.setDeliveryName("Taco Lover");
+        order.setDeliveryStreet("1234 Culinary Blvd.");
+        order.setDeliveryCity("Foodsville");
+        order.setDeliveryState("CO");
+        order.setDeliveryZip("81019");
+        order.setCcNumber("4111111111111111");
+        order.setCcExpiration("10/29");
+        order.setCcCVV("123");
+
+        for (int i = 0; i < tacos; i++) {
+            Taco taco = new Taco();
+            taco.setId((long) i);
+            taco.setName("Carnivore " + i);
+            taco.setIngredients(INGREDIENTS.subList(0, 6));
+            order.addTaco(taco);
+        }
+
+        return order;
+    }
+}
@@ -0,0 +1,47 @@
+package sia.tacocloud.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import sia.tacocloud.domain.TacoOrder;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of writing and reading an order through Jackson, configured the way Spring Boot configures it.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TacoOrderJsonBenchmark {
+
+    @Param({"1", "10"})
+    private int tacos;
+
+    private ObjectMapper objectMapper;
+    private TacoOrder order;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = JsonMapper.builder()
+                                 .findAndAddModules()
+                                 .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                                 .build();
+        order = TacoFixtures.order(tacos);
+        json = objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public TacoOrder deserialize() throws Exception {
+        return objectMapper.readValue(json, TacoOrder.class);
+    }
+}
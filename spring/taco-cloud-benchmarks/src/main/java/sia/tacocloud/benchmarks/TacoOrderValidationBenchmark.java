@@ -0,0 +1,53 @@
+package sia.tacocloud.benchmarks;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import sia.tacocloud.domain.TacoOrder;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the Bean Validation constraints (@CreditCardNumber, @Pattern, @Digits...) checked when an order is posted.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TacoOrderValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private TacoOrder validOrder;
+    private TacoOrder invalidOrder;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        validOrder = TacoFixtures.order(3);
+        invalidOrder = TacoFixtures.order(3);
+        invalidOrder.setCcNumber("4111111111111112");
+        invalidOrder.setCcExpiration("13/99");
+        invalidOrder.setCcCVV("12345");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TacoOrder>> validateValidOrder() {
+        return validator.validate(validOrder);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TacoOrder>> validateInvalidOrder() {
+        return validator.validate(invalidOrder);
+    }
+}
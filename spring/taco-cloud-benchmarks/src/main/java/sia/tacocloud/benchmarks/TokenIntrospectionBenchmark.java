@@ -0,0 +1,71 @@
+package sia.tacocloud.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+import org.springframework.security.oauth2.server.resource.introspection.SpringOpaqueTokenIntrospector;
+import sia.tacocloud.property.ResourceServerProps;
+import sia.tacocloud.service.CachingOpaqueTokenIntrospector;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+* Authentication overhead a bearer token adds to every API request in resource server mode, with and without the
+* CachingOpaqueTokenIntrospector, against a local stand-in auth server. 16 threads cycle through 1000 tokens. The
+* setup introspects each token once, so the cached run measures the steady state where only a token's first request
+* goes over the wire, that first request costs what every uncached one does.
+* */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class TokenIntrospectionBenchmark {
+
+    private static final int TOKENS = 1000;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private IntrospectionStub stub;
+    private OpaqueTokenIntrospector introspector;
+    private final String[] tokens = new String[TOKENS];
+
+    @State(Scope.Thread)
+    public static class Caller {
+        int next;
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        stub = IntrospectionStub.start(0);
+
+        ResourceServerProps props = new ResourceServerProps();
+        props.setIntrospectionUri(stub.introspectionUri());
+        props.setClientSecret("secret");
+
+        // Built like the remote introspector of ResourceServerConfig, which wraps it in the cache.
+        OpaqueTokenIntrospector remote = new SpringOpaqueTokenIntrospector(
+                props.getIntrospectionUri(),
+                new RestTemplateBuilder().basicAuthentication(props.getClientId(), props.getClientSecret()).build());
+        introspector = cached ? new CachingOpaqueTokenIntrospector(remote, props) : remote;
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = "token-" + i;
+            if (cached) introspector.introspect(tokens[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        stub.close();
+    }
+
+    @Benchmark
+    public OAuth2AuthenticatedPrincipal introspect(Caller caller) {
+        caller.next = (caller.next + 1) % TOKENS;
+        return introspector.introspect(tokens[caller.next]);
+    }
+}
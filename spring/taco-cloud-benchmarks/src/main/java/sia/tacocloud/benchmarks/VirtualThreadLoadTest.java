@@ -0,0 +1,126 @@
+package sia.tacocloud.benchmarks;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+* Load test comparing the platform thread Tomcat pool with virtual threads for requests that block on JPA. Each mode
+* boots LoadTestApplication on a random port, a fixed number of clients hammer /load/tacos, and throughput and
+* latency percentiles are printed. Settings are system properties, e.g.
+*
+*   java -Dload.concurrency=2000 -cp target/benchmarks.jar sia.tacocloud.benchmarks.VirtualThreadLoadTest
+* */
+public class VirtualThreadLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 1000);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("load.warmupSeconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("load.durationSeconds", 20));
+    private static final int TOMCAT_THREADS = Integer.getInteger("load.tomcatThreads", 200);
+    private static final int POOL_SIZE = Integer.getInteger("load.poolSize", 20);
+    private static final long IO_MILLIS = Long.getLong("load.ioMillis", 50);
+    private static final long DB_MILLIS = Long.getLong("load.dbMillis", 5);
+
+    public static void main(String[] args) throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            results.add(run(virtual));
+        }
+
+        System.out.printf("%nconcurrency=%d tomcatThreads=%d poolSize=%d ioMillis=%d dbMillis=%d%n", CONCURRENCY,
+                          TOMCAT_THREADS, POOL_SIZE, IO_MILLIS, DB_MILLIS);
+        System.out.printf("%-9s %10s %10s %9s %9s %9s %8s%n", "threads", "requests", "req/s", "p50 ms", "p99 ms",
+                          "max ms", "errors");
+        for (Result result : results) System.out.println(result);
+    }
+
+    private static Result run(boolean virtual) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LoadTestApplication.class)
+                .properties("server.port=0",
+                            "spring.main.banner-mode=off",
+                            "spring.threads.virtual.enabled=" + virtual,
+                            "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                            "spring.datasource.generate-unique-name=true",
+                            "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                            "spring.jpa.open-in-view=false",
+                            "taco.threads.expectedConcurrency=" + CONCURRENCY,
+                            "logging.level.sia.tacocloud=WARN")
+                .run())
+        {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI uri = URI.create("http://localhost:" + port + "/load/tacos?ioMillis=" + IO_MILLIS +
+                                 "&dbMillis=" + DB_MILLIS);
+
+            drive(uri, WARMUP);
+            return new Result(virtual ? "virtual" : "platform", drive(uri, DURATION), DURATION);
+        }
+    }
+
+    // Every client sends its next request as soon as the previous one is answered.
+    private static Latencies drive(URI uri, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENCY; i++) {
+                futures.add(clients.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) errors.incrementAndGet();
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+
+            List<long[]> perClient = new ArrayList<>();
+            for (Future<long[]> future : futures) perClient.add(future.get());
+            return new Latencies(perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray(), errors.get());
+        }
+    }
+
+    private record Latencies(long[] sortedNanos, long errors) {
+
+        double percentileMillis(double percentile) {
+            if (sortedNanos.length == 0) return 0;
+            int index = (int) Math.ceil(percentile / 100 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+
+    private record Result(String mode, Latencies latencies, Duration duration) {
+
+        @Override
+        public String toString() {
+            long requests = latencies.sortedNanos().length;
+            return String.format("%-9s %10d %10.1f %9.1f %9.1f %9.1f %8d", mode, requests,
+                                 requests / (double) duration.toSeconds(), latencies.percentileMillis(50),
+                                 latencies.percentileMillis(99), latencies.percentileMillis(100),
+                                 latencies.errors());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.tacocloudclient;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/*
+* Bulk operations on top of the single-ingredient endpoints. Calls fan out with at most bulkConcurrency in flight,
+* every attempt has its own timeout, and a 5xx answer is retried with a jittered exponential backoff so a struggling
+* server is not hit by all retries at once. One failed id never fails the batch, it is reported in the BulkResult.
+* */
+@Service
+public class BulkIngredientClient {
+
+    private final WebClient webClient;
+    private final int concurrency;
+    private final Duration callTimeout;
+    private final RetryBackoffSpec retry;
+
+    @Autowired
+    public BulkIngredientClient(WebClient webClient, TacoClientProps props) {
+        this.webClient = webClient;
+        this.concurrency = props.getBulkConcurrency();
+        this.callTimeout = props.getCallTimeout();
+        this.retry = Retry.backoff(props.getMaxRetries(), props.getRetryBackoff())
+                          .jitter(props.getRetryJitter())
+                          .filter(BulkIngredientClient::isServerError)
+                          .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    public Mono<BulkResult<Ingredient>> getIngredientsByIds(Collection<String> ingredientIds) {
+        return fanOut(ingredientIds, Function.identity(), id -> webClient
+                .get()
+                .uri("/api/ingredients/{id}", id)
+                .retrieve()
+                .bodyToMono(Ingredient.class));
+    }
+
+    public Mono<BulkResult<Ingredient>> upsertIngredients(Collection<Ingredient> ingredients) {
+        return fanOut(ingredients, Ingredient::getId, ingredient -> webClient
+                .put()
+                .uri("/api/ingredients/{id}", ingredient.getId())
+                .bodyValue(ingredient)
+                .retrieve()
+                .bodyToMono(Ingredient.class));
+    }
+
+    private <T> Mono<BulkResult<Ingredient>> fanOut(Collection<T> items, Function<T, String> idOf,
+                                                    Function<T, Mono<Ingredient>> call)
+    {
+        return Flux.fromIterable(items)
+                   .flatMap(item -> call.apply(item)
+                                        .timeout(callTimeout)
+                                        .retryWhen(retry)
+                                        .map(ingredient -> Outcome.success(idOf.apply(item), ingredient))
+                                        .switchIfEmpty(Mono.fromSupplier(() -> Outcome.failure(
+                                                idOf.apply(item), new IllegalStateException("Empty response"))))
+                                        .onErrorResume(e -> Mono.just(Outcome.failure(idOf.apply(item), e))),
+                            concurrency)
+                   .collectList()
+                   .map(BulkIngredientClient::aggregate);
+    }
+
+    private static BulkResult<Ingredient> aggregate(List<Outcome> outcomes) {
+        List<Ingredient> succeeded = new ArrayList<>();
+        Map<String, Throwable> failed = new LinkedHashMap<>();
+        for (Outcome outcome : outcomes) {
+            if (outcome.error() == null) succeeded.add(outcome.ingredient());
+            else failed.put(outcome.id(), outcome.error());
+        }
+        return new BulkResult<>(succeeded, failed);
+    }
+
+    private static boolean isServerError(Throwable error) {
+        return error instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError();
+    }
+
+    private record Outcome(String id, Ingredient ingredient, Throwable error) {
+
+        static Outcome success(String id, Ingredient ingredient) {
+            return new Outcome(id, ingredient, null);
+        }
+
+        static Outcome failure(String id, Throwable error) {
+            return new Outcome(id, null, error);
+        }
+    }
+}
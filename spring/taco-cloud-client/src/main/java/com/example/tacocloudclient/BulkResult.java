@@ -0,0 +1,17 @@
+package com.example.tacocloudclient;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+// Outcome of a bulk call, every id ends up either in succeeded or in failed with the error of its last attempt.
+@Value
+public class BulkResult<T> {
+    List<T> succeeded;
+    Map<String, Throwable> failed;
+
+    public boolean isComplete() {
+        return failed.isEmpty();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.tacocloudclient;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+/*
+* Ingredient lookups that hit the API at most once per id and TTL. Concurrent lookups of an id share the one request
+* in flight, its result is then kept in a bounded cache. Nothing is sent until the returned Mono is subscribed, and a
+* failed or empty lookup is not cached, the next subscriber tries again.
+* */
+@Service
+public class CachingIngredientClient {
+
+    private final WebClient webClient;
+    private final AsyncCache<String, Ingredient> ingredients;
+
+    @Autowired
+    public CachingIngredientClient(WebClient webClient, TacoClientProps props) {
+        this.webClient = webClient;
+        this.ingredients = Caffeine.newBuilder()
+                                   .maximumSize(props.getIngredientCacheSize())
+                                   .expireAfterWrite(props.getIngredientCacheTtl())
+                                   .buildAsync();
+    }
+
+    public Mono<Ingredient> getIngredientById(String ingredientId) {
+        return Mono.defer(() -> {
+            CompletableFuture<Ingredient> ingredient =
+                    ingredients.get(ingredientId, (id, executor) -> fetch(id).toFuture());
+
+            // A subscriber that cancels must not cancel the request the other subscribers are waiting on. Caffeine
+            // drops a failed lookup on its own but asynchronously, a retry right after the error could still get it.
+            return Mono.fromFuture(ingredient, true)
+                       .doOnError(e -> ingredients.asMap().remove(ingredientId, ingredient));
+        });
+    }
+
+    public void invalidate(String ingredientId) {
+        ingredients.synchronous().invalidate(ingredientId);
+    }
+
+    private Mono<Ingredient> fetch(String ingredientId) {
+        return webClient
+                .get()
+                .uri("/api/ingredients/{id}", ingredientId)
+                .retrieve()
+                .onStatus(status -> status == HttpStatus.NOT_FOUND,
+                          response -> Mono.just(new UnknownIngredientException()))
+                .bodyToMono(Ingredient.class);
+    }
+}
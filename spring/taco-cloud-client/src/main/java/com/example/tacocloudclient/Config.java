@@ -1,13 +1,30 @@
 package com.example.tacocloudclient;
 
+import io.netty.channel.ChannelOption;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class Config {
+    // The default Reactor Netty pool is sized by the CPU count, too small for the bulk fan-out.
     @Bean
-    public WebClient webClient() {
-        return WebClient.create("http://localhost:8080");
+    public WebClient webClient(TacoClientProps props) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("taco-client")
+                                                                  .maxConnections(props.getMaxConnections())
+                                                                  .maxIdleTime(props.getKeepAlive())
+                                                                  .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                                          .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                                                  (int) props.getConnectTimeout().toMillis())
+                                          .responseTimeout(props.getReadTimeout());
+
+        return WebClient.builder()
+                        .baseUrl(props.getBaseUrl())
+                        .clientConnector(new ReactorClientHttpConnector(httpClient))
+                        .build();
     }
 }
@@ -0,0 +1,78 @@
+package com.example.tacocloudclient;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+
+/*
+* Request factories for the RestTemplate of TacoCloudClient. The default one is plain HttpURLConnection, which already
+* keeps a few idle keep-alive connections per host. With pooled on, Apache HttpClient keeps a sized pool of HTTP/1.1
+* connections per route. It was no faster in RestTemplateClientBenchmark, with or without stub latency, so it stays
+* opt-in. With http2 on, the JDK client negotiates HTTP/2 and sends concurrent requests as streams over one connection.
+* */
+public final class TacoClientHttpRequestFactory {
+
+    private TacoClientHttpRequestFactory() {
+    }
+
+    public static ClientHttpRequestFactory create(TacoClientProps props) {
+        if (props.isHttp2()) return http2(props);
+        return props.isPooled() ? pooled(props) : simple(props);
+    }
+
+    private static SimpleClientHttpRequestFactory simple(TacoClientProps props) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(props.getConnectTimeout());
+        requestFactory.setReadTimeout(props.getReadTimeout());
+        return requestFactory;
+    }
+
+    private static HttpComponentsClientHttpRequestFactory pooled(TacoClientProps props) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder
+                .create()
+                .setMaxConnTotal(props.getMaxConnections())
+                .setMaxConnPerRoute(props.getMaxConnectionsPerRoute())
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.LAX)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                                            .setConnectTimeout(Timeout.of(props.getConnectTimeout()))
+                                                            .setSocketTimeout(Timeout.of(props.getReadTimeout()))
+                                                            .build())
+                .build();
+
+        // Idle connections are closed before the server is likely to drop them, a stale one is never handed out.
+        CloseableHttpClient httpClient = HttpClients
+                .custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                                                      .setConnectionKeepAlive(TimeValue.of(props.getKeepAlive()))
+                                                      .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(props.getKeepAlive()))
+                .build();
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    private static JdkClientHttpRequestFactory http2(TacoClientProps props) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                                          .version(HttpClient.Version.HTTP_2)
+                                          .connectTimeout(props.getConnectTimeout())
+                                          .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(props.getReadTimeout());
+        return requestFactory;
+    }
+}
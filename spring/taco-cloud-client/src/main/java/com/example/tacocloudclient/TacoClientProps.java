@@ -0,0 +1,39 @@
+package com.example.tacocloudclient;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("taco.client")
+@Data
+public class TacoClientProps {
+    private String baseUrl = "http://localhost:8080";
+
+    // Switches the RestTemplate to a pooled Apache HttpClient, see TacoClientHttpRequestFactory for why it is off.
+    private boolean pooled = false;
+
+    // Connection pool of the HTTP/1.1 clients, the RestTemplate only uses it when pooled is on and http2 is off.
+    private int maxConnections = 100;
+    private int maxConnectionsPerRoute = 20;
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    // Switches to the JDK client, which multiplexes every request to a host over one HTTP/2 connection.
+    private boolean http2 = false;
+
+    // Ingredients looked up through CachingIngredientClient.
+    private int ingredientCacheSize = 1000;
+    private Duration ingredientCacheTtl = Duration.ofMinutes(5);
+
+    // Fan-out of BulkIngredientClient, keep bulkConcurrency within maxConnections or calls queue for a connection.
+    private int bulkConcurrency = 32;
+    private Duration callTimeout = Duration.ofSeconds(2);
+    private int maxRetries = 3;
+    private Duration retryBackoff = Duration.ofMillis(100);
+    private double retryJitter = 0.5;
+}
@@ -33,10 +33,7 @@ public class TacoClientReactive {
                           response -> Mono.just(new UnknownIngredientException())) // We can be this level specific
                 .bodyToMono(Ingredient.class);
 
-        ingredient.subscribe(i -> {
-        }, e -> {
-        });
-
+        // Lazy, the request is sent once per subscription of the caller.
         return ingredient;
     }
 
@@ -47,11 +44,7 @@ public class TacoClientReactive {
                 .retrieve()
                 .bodyToFlux(Ingredient.class);
 
-        ingredients.timeout(Duration.ofSeconds(1)).subscribe(i -> {
-        }, e -> {
-        });
-
-        return ingredients;
+        return ingredients.timeout(Duration.ofSeconds(1));
     }
 
     // Posting resources -----------------------------------------------------------------------------------------------
@@ -21,7 +21,7 @@ public class TacoCloudClient {
     // get example -----------------------------------------------------------------------------------------------------
     public Ingredient getIngredientById(String ingredientId) {
         try {
-            return rest.getForObject("http://localhost:8080/api/ingredients/{id}", Ingredient.class, ingredientId);
+            return rest.getForObject("/api/ingredients/{id}", Ingredient.class, ingredientId);
         } catch (HttpClientErrorException.NotFound notFoundException) {
             // Handle 404 Not Found response
             return null; // or throw a custom exception
@@ -29,7 +29,7 @@ public class TacoCloudClient {
     }
 
     public Ingredient getIngredientById2(String ingredientId) {
-        ResponseEntity<Ingredient> responseEntity = rest.getForEntity("http://localhost:8080/api/ingredients/{id}",
+        ResponseEntity<Ingredient> responseEntity = rest.getForEntity("/api/ingredients/{id}",
                                                                       Ingredient.class, ingredientId);
 
         log.info("Fetched time: {}", responseEntity.getHeaders().getDate());
@@ -39,18 +39,18 @@ public class TacoCloudClient {
     // put example -----------------------------------------------------------------------------------------------------
 
     public void updateIngredient(Ingredient ingredient) {
-        rest.put("http://localhost:8080/api/ingredients/{id}", ingredient, ingredient.getId());
+        rest.put("/api/ingredients/{id}", ingredient, ingredient.getId());
     }
 
     // post example ----------------------------------------------------------------------------------------------------
 
     public Ingredient createIngredient(Ingredient ingredient) {
-        return rest.postForObject("http://localhost:8080/api/ingredients", ingredient, Ingredient.class);
+        return rest.postForObject("/api/ingredients", ingredient, Ingredient.class);
     }
 
     // delete example --------------------------------------------------------------------------------------------------
 
     public void deleteIngredient(Ingredient ingredient) {
-        rest.delete("http://localhost:8080/api/ingredients/{id}", ingredient.getId());
+        rest.delete("/api/ingredients/{id}", ingredient.getId());
     }
 }
@@ -5,7 +5,9 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
 
 @SpringBootApplication
 @Slf4j
@@ -15,9 +17,17 @@ public class TacoCloudClientApplication {
         SpringApplication.run(TacoCloudClientApplication.class, args);
     }
 
+    // A bean of its own so a pooled client is closed with the context.
     @Bean
-    public RestTemplate rest() {
-        return new RestTemplate();
+    public ClientHttpRequestFactory clientHttpRequestFactory(TacoClientProps props) {
+        return TacoClientHttpRequestFactory.create(props);
+    }
+
+    @Bean
+    public RestTemplate rest(ClientHttpRequestFactory clientHttpRequestFactory, TacoClientProps props) {
+        RestTemplate rest = new RestTemplate(clientHttpRequestFactory);
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(props.getBaseUrl()));
+        return rest;
     }
 
     @Bean
@@ -0,0 +1,111 @@
+package com.example.tacocloudclient;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkIngredientClientTest {
+
+    private final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    /*
+    * Stub of the ingredients API: "FAIL" answers 503 twice before it succeeds, "DOWN" always answers 503, "MISS" is not
+    * found and "SLOW" never answers in time. Any other id is found after 20ms.
+    * */
+    private final WebClient webClient = WebClient.builder().exchangeFunction(request -> {
+        String path = request.url().getPath();
+        String id = path.substring(path.lastIndexOf('/') + 1);
+        int attempt = attempts.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        Duration delay = id.equals("SLOW") ? Duration.ofSeconds(5) : Duration.ofMillis(20);
+        // Counted as done before it answers, the next call may already start while the answer is passed on.
+        return Mono.delay(delay)
+                   .doOnCancel(inFlight::decrementAndGet)
+                   .then(Mono.fromSupplier(() -> {
+                       inFlight.decrementAndGet();
+                       return response(request.method(), id, attempt);
+                   }));
+    }).build();
+
+    @Test
+    void shouldFetchEveryIdWithoutExceedingTheConcurrencyCap() {
+        BulkIngredientClient client = new BulkIngredientClient(webClient, props());
+        List<String> ids = IntStream.range(0, 200).mapToObj(i -> "ID" + i).toList();
+
+        BulkResult<Ingredient> result = client.getIngredientsByIds(ids).block();
+
+        assertThat(result.isComplete()).isTrue();
+        assertThat(result.getSucceeded()).extracting(Ingredient::getId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(8);
+    }
+
+    @Test
+    void shouldRetryServerErrorsAndReportWhatStillFailed() {
+        BulkIngredientClient client = new BulkIngredientClient(webClient, props());
+
+        BulkResult<Ingredient> result = client.getIngredientsByIds(List.of("FLTO", "FAIL", "DOWN", "MISS", "SLOW"))
+                                              .block();
+
+        assertThat(result.getSucceeded()).extracting(Ingredient::getId).containsExactlyInAnyOrder("FLTO", "FAIL");
+        assertThat(result.getFailed()).containsOnlyKeys("DOWN", "MISS", "SLOW");
+        assertThat(result.getFailed().get("DOWN")).isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+        assertThat(result.getFailed().get("MISS")).isInstanceOf(WebClientResponseException.NotFound.class);
+        assertThat(result.getFailed().get("SLOW")).isInstanceOf(TimeoutException.class);
+
+        assertThat(attempts.get("FAIL")).hasValue(3);
+        assertThat(attempts.get("DOWN")).hasValue(4);
+        // Neither a 4xx nor a timeout is retried.
+        assertThat(attempts.get("MISS")).hasValue(1);
+        assertThat(attempts.get("SLOW")).hasValue(1);
+    }
+
+    @Test
+    void shouldUpsertIngredientsInBulk() {
+        BulkIngredientClient client = new BulkIngredientClient(webClient, props());
+
+        BulkResult<Ingredient> result = client.upsertIngredients(List.of(
+                new Ingredient("CHIX", "Shredded Chicken", Ingredient.Type.PROTEIN),
+                new Ingredient("DOWN", "Beef Fajita", Ingredient.Type.PROTEIN))).block();
+
+        assertThat(result.getSucceeded()).extracting(Ingredient::getId).containsExactly("CHIX");
+        assertThat(result.getFailed()).containsOnlyKeys("DOWN");
+    }
+
+    private TacoClientProps props() {
+        TacoClientProps props = new TacoClientProps();
+        props.setBulkConcurrency(8);
+        props.setCallTimeout(Duration.ofMillis(500));
+        props.setRetryBackoff(Duration.ofMillis(10));
+        return props;
+    }
+
+    private static ClientResponse response(HttpMethod method, String id, int attempt) {
+        if (id.equals("DOWN") || (id.equals("FAIL") && attempt <= 2))
+            return ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build();
+        if (id.equals("MISS")) return ClientResponse.create(HttpStatus.NOT_FOUND).build();
+
+        return ClientResponse.create(HttpStatus.OK)
+                             .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                             .body("{\"id\":\"" + id + "\",\"name\":\"" + method + " " + id + "\",\"type\":\"WRAP\"}")
+                             .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.tacocloudclient;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingIngredientClientTest {
+
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+    // Answers every lookup after a short delay, except for the "MISS" id which is not found.
+    private final WebClient webClient = WebClient.builder().exchangeFunction(request -> {
+        String path = request.url().getPath();
+        String id = path.substring(path.lastIndexOf('/') + 1);
+        requests.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+
+        ClientResponse response = id.equals("MISS")
+                ? ClientResponse.create(HttpStatus.NOT_FOUND).build()
+                : ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body("{\"id\":\"" + id + "\",\"name\":\"Ingredient " + id + "\",\"type\":\"WRAP\"}")
+                                .build();
+        return Mono.delay(Duration.ofMillis(50)).thenReturn(response);
+    }).build();
+
+    @Test
+    void shouldSendOneRequestPerIdForConcurrentLookups() {
+        CachingIngredientClient client = new CachingIngredientClient(webClient, new TacoClientProps());
+        List<String> ids = List.of("FLTO", "COTO", "GRBF", "CARN", "CHED");
+
+        StepVerifier.create(Flux.range(0, 500)
+                                .parallel(8)
+                                .runOn(Schedulers.parallel())
+                                .flatMap(i -> client.getIngredientById(ids.get(i % ids.size())))
+                                .sequential())
+                    .expectNextCount(500)
+                    .verifyComplete();
+
+        assertThat(requests).containsOnlyKeys(ids);
+        assertThat(requests.values()).allMatch(count -> count.get() == 1);
+    }
+
+    @Test
+    void shouldNotSendAnythingUntilSubscribed() {
+        CachingIngredientClient client = new CachingIngredientClient(webClient, new TacoClientProps());
+
+        Mono<Ingredient> ingredient = client.getIngredientById("FLTO");
+        assertThat(requests).isEmpty();
+
+        StepVerifier.create(ingredient).expectNextMatches(i -> i.getId().equals("FLTO")).verifyComplete();
+        StepVerifier.create(ingredient).expectNextCount(1).verifyComplete();
+        assertThat(requests.get("FLTO")).hasValue(1);
+    }
+
+    @Test
+    void shouldFetchAgainAfterTheTtlOrAFailure() throws Exception {
+        TacoClientProps props = new TacoClientProps();
+        props.setIngredientCacheTtl(Duration.ofMillis(100));
+        CachingIngredientClient client = new CachingIngredientClient(webClient, props);
+
+        client.getIngredientById("FLTO").block();
+        Thread.sleep(150);
+        client.getIngredientById("FLTO").block();
+        assertThat(requests.get("FLTO")).hasValue(2);
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(client.getIngredientById("MISS"))
+                        .expectError(UnknownIngredientException.class)
+                        .verify();
+        }
+        assertThat(requests.get("MISS")).hasValue(2);
+    }
+}
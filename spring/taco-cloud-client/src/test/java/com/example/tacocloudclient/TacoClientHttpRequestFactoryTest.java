@@ -0,0 +1,96 @@
+package com.example.tacocloudclient;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TacoClientHttpRequestFactoryTest {
+
+    private HttpServer server;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    // Stub of the ingredients API that records the client side port of every connection it serves.
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/ingredients/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = "{\"id\":\"FLTO\",\"name\":\"Flour Tortilla\",\"type\":\"WRAP\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldReuseOnePooledConnectionForConsecutiveCalls() throws Exception {
+        TacoClientProps props = props();
+        props.setPooled(true);
+        ClientHttpRequestFactory requestFactory = TacoClientHttpRequestFactory.create(props);
+        TacoCloudClient client = new TacoCloudClient(restTemplate(requestFactory, props));
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(client.getIngredientById("FLTO").getName()).isEqualTo("Flour Tortilla");
+        }
+
+        assertThat(requestFactory).isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+        assertThat(clientPorts).hasSize(1);
+        ((HttpComponentsClientHttpRequestFactory) requestFactory).destroy();
+    }
+
+    @Test
+    void shouldUseHttpUrlConnectionByDefault() {
+        TacoClientProps props = props();
+        ClientHttpRequestFactory requestFactory = TacoClientHttpRequestFactory.create(props);
+
+        assertThat(requestFactory).isInstanceOf(SimpleClientHttpRequestFactory.class);
+        assertThat(new TacoCloudClient(restTemplate(requestFactory, props)).getIngredientById("FLTO").getId())
+                .isEqualTo("FLTO");
+    }
+
+    @Test
+    void shouldUseTheJdkClientForHttp2() {
+        TacoClientProps props = props();
+        props.setHttp2(true);
+        ClientHttpRequestFactory requestFactory = TacoClientHttpRequestFactory.create(props);
+
+        assertThat(requestFactory).isInstanceOf(JdkClientHttpRequestFactory.class);
+        // The stub only speaks HTTP/1.1, the client falls back after offering the upgrade.
+        assertThat(new TacoCloudClient(restTemplate(requestFactory, props)).getIngredientById("FLTO").getId())
+                .isEqualTo("FLTO");
+    }
+
+    private TacoClientProps props() {
+        TacoClientProps props = new TacoClientProps();
+        props.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        return props;
+    }
+
+    private RestTemplate restTemplate(ClientHttpRequestFactory requestFactory, TacoClientProps props) {
+        RestTemplate rest = new RestTemplate(requestFactory);
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(props.getBaseUrl()));
+        return rest;
+    }
+}
@@ -0,0 +1,36 @@
+package sia.tacocloud.configuration;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+/*
+* Second-level and query cache of Hibernate, kept in Caffeine through JCache. The regions and their sizes live in
+* application.conf, a region missing there fails the startup instead of silently growing an unbounded cache.
+* */
+@Configuration
+public class HibernateCacheConfig {
+
+    // Owned by this context rather than taken from the provider's JVM wide default, a devtools restart or another
+    // test context never reads entities cached from a different database.
+    @Bean
+    public CacheManager hibernateCacheManager() {
+        return new CaffeineCachingProvider().getCacheManager();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package sia.tacocloud.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Static, post processors are created before the other beans of this configuration.
+    @Bean
+    public static RepositoryRowCountPostProcessor repositoryRowCountPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry)
+    {
+        return new RepositoryRowCountPostProcessor(meterRegistry);
+    }
+}
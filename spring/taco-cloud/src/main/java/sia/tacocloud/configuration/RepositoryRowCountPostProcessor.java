@@ -0,0 +1,115 @@
+package sia.tacocloud.configuration;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryFactoryCustomizer;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/*
+* Records how many rows every repository method returns, as the taco.repository.rows summary tagged with repository
+* and method. Spring Boot already times repository invocations, together they show which queries are slow because
+* they load too much. Works like Spring Boot's own repository metrics: every repository factory gets an extra
+* interceptor on the repository proxy.
+* */
+public class RepositoryRowCountPostProcessor implements BeanPostProcessor {
+
+    static final String METRIC_NAME = "taco.repository.rows";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RepositoryRowCountPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+            repositoryFactoryBean.addRepositoryFactoryCustomizer(customizer());
+        }
+        return bean;
+    }
+
+    private RepositoryFactoryCustomizer customizer() {
+        return factory -> factory.addRepositoryProxyPostProcessor(
+                (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                        new RowCountInterceptor(repositoryInformation.getRepositoryInterface().getSimpleName())));
+    }
+
+    private class RowCountInterceptor implements MethodInterceptor {
+
+        private final String repository;
+
+        RowCountInterceptor(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            String method = invocation.getMethod().getName();
+            if (isWrite(method)) return result;
+
+            // Streams are counted as they are consumed and recorded when they are closed.
+            if (result instanceof Stream<?> stream) {
+                AtomicLong rows = new AtomicLong();
+                return stream.peek(row -> rows.incrementAndGet())
+                             .onClose(() -> record(method, rows.get()));
+            }
+
+            long rows = rows(invocation.getMethod().getReturnType(), result);
+            if (rows >= 0) record(method, rows);
+            return result;
+        }
+
+        private void record(String method, long rows) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) return;
+
+            DistributionSummary.builder(METRIC_NAME)
+                               .description("Rows returned by a repository method")
+                               .baseUnit("rows")
+                               .tag("repository", repository)
+                               .tag("method", method)
+                               .register(registry)
+                               .record(rows);
+        }
+    }
+
+    // save and saveAll hand back the entities they were given, delete and flush read nothing, only reads are recorded.
+    private static boolean isWrite(String method) {
+        return method.startsWith("save") || method.startsWith("delete") || method.startsWith("flush");
+    }
+
+    // Counts, existence checks and modifying queries return no rows, reactive results are only known once they are
+    // subscribed to, none of them are recorded.
+    private static long rows(Class<?> returnType, Object result) {
+        if (returnType == void.class || Number.class.isAssignableFrom(returnType) || returnType.isPrimitive()
+                || returnType == Boolean.class || Publisher.class.isAssignableFrom(returnType)) return -1;
+
+        if (result == null) return 0;
+        if (result instanceof Collection<?> collection) return collection.size();
+        if (result instanceof Slice<?> slice) return slice.getNumberOfElements();
+        if (result instanceof Window<?> window) return window.size();
+        if (result instanceof Optional<?> optional) return optional.isPresent() ? 1 : 0;
+        if (result instanceof Map<?, ?> map) return map.size();
+        if (result instanceof Iterable<?> iterable) {
+            long rows = 0;
+            for (Object ignored : iterable) rows++;
+            return rows;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,71 @@
+package sia.tacocloud.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+import org.springframework.security.oauth2.server.resource.introspection.SpringOpaqueTokenIntrospector;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.util.StringUtils;
+import sia.tacocloud.property.ResourceServerProps;
+import sia.tacocloud.service.CachingOpaqueTokenIntrospector;
+
+/*
+* Resource server mode, turned on with taco.resource-server.enabled. The REST API then takes bearer tokens issued by
+* taco-cloud-auth-server, validated through its introspection endpoint behind the CachingOpaqueTokenIntrospector.
+* Writes and the order data need the matching scope, the rest of the API any valid token. The web pages keep the form
+* login of SecurityConfig.
+* */
+@Configuration
+@ConditionalOnProperty(name = "taco.resource-server.enabled", havingValue = "true")
+public class ResourceServerConfig {
+
+    @Bean
+    @Order(1)
+    public SecurityFilterChain apiFilterChain(HttpSecurity http, OpaqueTokenIntrospector opaqueTokenIntrospector)
+            throws Exception
+    {
+        return http
+                .securityMatcher("/api/**")
+                .authorizeHttpRequests(
+                        (authorizeHttpRequests) -> authorizeHttpRequests
+                                .requestMatchers(HttpMethod.POST, "/api/orders/batch").hasAuthority("SCOPE_writeOrders")
+                                .requestMatchers("/api/orders/export", "/api/orders/analytics/**")
+                                        .hasAuthority("SCOPE_readOrders")
+                                .requestMatchers(HttpMethod.GET, "/api/**").authenticated()
+                                .requestMatchers(HttpMethod.DELETE, "/api/ingredients/**")
+                                        .hasAuthority("SCOPE_deleteIngredients")
+                                .requestMatchers("/api/ingredients/**").hasAuthority("SCOPE_writeIngredients")
+                                .anyRequest().authenticated()
+                )
+                .oauth2ResourceServer(oauth2 -> oauth2.opaqueToken(
+                        opaqueToken -> opaqueToken.introspector(opaqueTokenIntrospector)))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf(AbstractHttpConfigurer::disable)
+                .build();
+    }
+
+    // The remote introspector makes a round trip to the auth server on every call, the cache in front of it does not.
+    @Bean
+    public CachingOpaqueTokenIntrospector opaqueTokenIntrospector(ResourceServerProps props,
+                                                                  RestTemplateBuilder restTemplateBuilder)
+    {
+        if (!StringUtils.hasText(props.getClientSecret())) {
+            throw new IllegalStateException("taco.resource-server.clientSecret is not set, "
+                                            + "pass it in the TACO_RESOURCE_SERVER_CLIENT_SECRET environment variable");
+        }
+        OpaqueTokenIntrospector remote = new SpringOpaqueTokenIntrospector(
+                props.getIntrospectionUri(),
+                restTemplateBuilder.basicAuthentication(props.getClientId(), props.getClientSecret())
+                                   .setConnectTimeout(props.getConnectTimeout())
+                                   .setReadTimeout(props.getReadTimeout())
+                                   .build());
+        return new CachingOpaqueTokenIntrospector(remote, props);
+    }
+}
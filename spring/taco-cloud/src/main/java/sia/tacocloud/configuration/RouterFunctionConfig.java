@@ -3,12 +3,16 @@ package sia.tacocloud.configuration;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 import sia.tacocloud.domain.Taco;
+import sia.tacocloud.dto.OrderEvent;
 import sia.tacocloud.repository.TacoReactiveRepository;
+import sia.tacocloud.service.OrderEventPublisher;
 
 import java.net.URI;
 import java.util.Objects;
@@ -23,14 +27,18 @@ public class RouterFunctionConfig {
     @Autowired
     private TacoReactiveRepository tacoRepo;
 
+    @Autowired
+    private OrderEventPublisher orderEventPublisher;
+
     @Bean
     public RouterFunction<?> routerFunction() {
         return route(GET("/api/reactive/tacos").and(queryParam("recent", Objects::nonNull)), this::recents)
-                .andRoute(POST("/api/reactive/tacos"), this::postTaco);
+                .andRoute(POST("/api/reactive/tacos"), this::postTaco)
+                .andRoute(GET("/api/reactive/orders/feed"), this::orderFeed);
     }
 
     public Mono<ServerResponse> recents(ServerRequest request) {
-        return ServerResponse.ok().body(tacoRepo.findAll().take(12), Taco.class);
+        return ServerResponse.ok().body(tacoRepo.findByOrderByCreatedAtDesc(Limit.of(12)), Taco.class);
     }
 
     public Mono<ServerResponse> postTaco(ServerRequest request) {
@@ -42,5 +50,11 @@ public class RouterFunctionConfig {
                                   .body(savedTaco, Taco.class);
                       });
     }
+
+    public Mono<ServerResponse> orderFeed(ServerRequest request) {
+        return ServerResponse.ok()
+                             .contentType(MediaType.TEXT_EVENT_STREAM)
+                             .body(orderEventPublisher.events(), OrderEvent.class);
+    }
 }
 
@@ -2,24 +2,38 @@ package sia.tacocloud.configuration;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import sia.tacocloud.domain.User;
+import sia.tacocloud.property.SecurityProps;
 import sia.tacocloud.repository.UserRepository;
 
+import java.util.Map;
+
 @Configuration
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    // New hashes use the configured BCrypt strength, hashes stored before the encoder was prefixed with {bcrypt}
+    // still match, and any hash weaker than the configured strength is upgraded at the next successful login.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(SecurityProps securityProps) {
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(
+                "bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(securityProps.getBcryptStrength())));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        return passwordEncoder;
     }
 
     // Custom implementation of the userDetailsService
@@ -33,15 +47,48 @@ public class SecurityConfig {
         };
     }
 
+    // Stores the re-encoded password when the password encoder asks for an upgrade.
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService(UserRepository userRepository, UserCache userCache) {
+        return (userDetails, newPassword) -> {
+            User user = userRepository.findByUsername(userDetails.getUsername());
+            User upgradedUser = new User(user.getUsername(), newPassword,
+                                         user.getFullname(), user.getStreet(),
+                                         user.getCity(), user.getState(),
+                                         user.getZip(), user.getPhoneNumber());
+            upgradedUser.setId(user.getId());
+
+            userCache.removeUserFromCache(user.getUsername());
+            return userRepository.save(upgradedUser);
+        };
+    }
+
+    @Bean
+    public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                            PasswordEncoder passwordEncoder, UserCache userCache,
+                                                            UserDetailsPasswordService userDetailsPasswordService)
+    {
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider(passwordEncoder);
+        authenticationProvider.setUserDetailsService(userDetailsService);
+        authenticationProvider.setUserCache(userCache);
+        authenticationProvider.setUserDetailsPasswordService(userDetailsPasswordService);
+
+        return authenticationProvider;
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         return http
                 .authorizeHttpRequests(
                         (authorizeHttpRequests) -> authorizeHttpRequests
-                                .requestMatchers("/design", "/orders").hasRole("USER")
+                                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                                .requestMatchers("/actuator/**", "/api/orders/export", "/api/orders/analytics/**").hasRole("ADMIN")
+                                .requestMatchers("/design", "/orders", "/orders/*", "/api/orders/batch").hasRole("USER")
                                 .requestMatchers("/", "/**").permitAll()
                 )
                 .formLogin(formLogin -> formLogin.loginPage("/login").defaultSuccessUrl("/design"))
+                // For the metrics scraper, browsers still get the login page.
+                .httpBasic(Customizer.withDefaults())
                 .logout(logout -> logout.logoutUrl("/logout").logoutSuccessUrl("/"))
                 .csrf(AbstractHttpConfigurer::disable)
                 .build();
@@ -0,0 +1,52 @@
+package sia.tacocloud.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import sia.tacocloud.property.ThreadingProps;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/*
+* With spring.threads.virtual.enabled Spring Boot serves requests and runs @Async methods on virtual threads. The
+* Tomcat thread pool no longer caps how many requests block on JDBC at once, the connection pool does, so in that
+* mode the Hikari settings are checked at startup and waiting for a connection is kept short.
+* */
+@Slf4j
+@Configuration
+@EnableAsync
+public class ThreadingConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ApplicationRunner hikariSizingGuard(DataSource dataSource, ThreadingProps threadingProps) {
+        return args -> {
+            HikariDataSource hikari;
+            try {
+                hikari = dataSource.unwrap(HikariDataSource.class);
+            } catch (SQLException e) {
+                log.debug("Data source is not a Hikari pool, skipping the sizing guard");
+                return;
+            }
+
+            // Thousands of virtual threads queueing for 30 seconds each are worse than failing them early.
+            long connectionTimeout = threadingProps.getConnectionTimeout().toMillis();
+            if (hikari.getConnectionTimeout() > connectionTimeout) {
+                hikari.getHikariConfigMXBean().setConnectionTimeout(connectionTimeout);
+            }
+
+            int poolSize = hikari.getMaximumPoolSize();
+            if (poolSize < threadingProps.getExpectedConcurrency()) {
+                log.warn("Virtual threads are enabled with a pool of {} connections for {} expected concurrent " +
+                         "requests, requests beyond the pool size wait up to {} ms for a connection", poolSize,
+                         threadingProps.getExpectedConcurrency(), connectionTimeout);
+            }
+        };
+    }
+}
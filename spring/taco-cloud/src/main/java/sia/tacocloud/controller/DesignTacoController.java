@@ -11,12 +11,10 @@ import sia.tacocloud.domain.Ingredient;
 import sia.tacocloud.domain.Ingredient.Type;
 import sia.tacocloud.domain.Taco;
 import sia.tacocloud.domain.TacoOrder;
-import sia.tacocloud.repository.IngredientRepository;
+import sia.tacocloud.service.IngredientCatalogService;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Slf4j
 @Controller
@@ -24,32 +22,23 @@ import java.util.stream.Collectors;
 @SessionAttributes("tacoOrder")
 public class DesignTacoController {
 
-    private final IngredientRepository ingredientRepository;
+    private final IngredientCatalogService ingredientCatalogService;
 
     @Autowired
-    public DesignTacoController(IngredientRepository ingredientRepository) {
-        this.ingredientRepository = ingredientRepository;
+    public DesignTacoController(IngredientCatalogService ingredientCatalogService) {
+        this.ingredientCatalogService = ingredientCatalogService;
     }
 
+    // The catalog keeps the ingredients already grouped by type, so no query or filtering happens per request.
     @ModelAttribute
     public void showDesignForm(Model model) {
-        Iterable<Ingredient> ingredients = ingredientRepository.findAll();
-        Type[] types = Ingredient.Type.values();
+        Map<Type, List<Ingredient>> ingredientsByType = ingredientCatalogService.findAllGroupedByType();
 
-        for (Type type : types) {
-            model.addAttribute(type.toString().toLowerCase(), filterByType(ingredients, type));
+        for (Map.Entry<Type, List<Ingredient>> entry : ingredientsByType.entrySet()) {
+            model.addAttribute(entry.getKey().toString().toLowerCase(), entry.getValue());
         }
     }
 
-    private Iterable<Ingredient> filterByType(Iterable<Ingredient> ingredients, Type type) {
-        List<Ingredient> filteredList = new ArrayList<>();
-
-        for (Ingredient ingredient : ingredients)
-            if (ingredient.getType().equals(type)) filteredList.add(ingredient);
-
-        return filteredList;
-    }
-
     @ModelAttribute(name = "tacoOrder")
     public TacoOrder order() {
         return new TacoOrder();
@@ -1,13 +1,18 @@
 package sia.tacocloud.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.property.IngredientProps;
 import sia.tacocloud.repository.IngredientRepository;
 import sia.tacocloud.repository.TacoRepository;
+import sia.tacocloud.service.IngredientCatalogService;
+import sia.tacocloud.service.IngredientCatalogService.Catalog;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @RestController
@@ -15,38 +20,63 @@ import java.util.Optional;
 public class IngredientController {
     private final TacoRepository tacoRepository;
     private IngredientRepository ingredientRepository;
+    private IngredientCatalogService ingredientCatalogService;
+    private IngredientProps ingredientProps;
 
     @Autowired
     public IngredientController(IngredientRepository ingredientRepository,
-                                TacoRepository tacoRepository)
+                                TacoRepository tacoRepository,
+                                IngredientCatalogService ingredientCatalogService,
+                                IngredientProps ingredientProps)
     {
         this.ingredientRepository = ingredientRepository;
         this.tacoRepository = tacoRepository;
+        this.ingredientCatalogService = ingredientCatalogService;
+        this.ingredientProps = ingredientProps;
     }
 
+    // Served from the catalog with its version as ETag, clients revalidate with If-None-Match and get a 304 back
+    // until an ingredient is written through this API.
     @GetMapping
-    public Iterable<Ingredient> allIngredients() {
-        return ingredientRepository.findAll();
+    public ResponseEntity<Collection<Ingredient>> allIngredients() {
+        Catalog catalog = ingredientCatalogService.snapshot();
+
+        return ResponseEntity.ok()
+                             .eTag(catalog.version())
+                             .cacheControl(cacheControl())
+                             .body(catalog.byId().values());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Ingredient> getIngredientById(@PathVariable String id) {
+        Catalog catalog = ingredientCatalogService.snapshot();
+        Ingredient ingredient = catalog.byId().get(id);
+        if (ingredient != null) {
+            return ResponseEntity.ok()
+                                 .eTag(catalog.version())
+                                 .cacheControl(cacheControl())
+                                 .body(ingredient);
+        }
+
+        // Not part of the catalog yet, it is looked up without caching headers.
         Optional<Ingredient> optionalIngredient = ingredientRepository.findById(id);
 
         return optionalIngredient
-                .map(ingredient -> new ResponseEntity<>(ingredient, HttpStatus.OK))
+                .map(found -> new ResponseEntity<>(found, HttpStatus.OK))
                 .orElse(new ResponseEntity<>(null, HttpStatus.NOT_FOUND));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Ingredient> putIngredient(@PathVariable String id, @RequestBody Ingredient ingredient) {
         ingredientRepository.save(ingredient);
+        ingredientCatalogService.invalidate();
         return new ResponseEntity<>(ingredient, HttpStatus.OK);
     }
 
     @PostMapping
     public ResponseEntity<Ingredient> postIngredient(@RequestBody Ingredient ingredient) {
         ingredientRepository.save(ingredient);
+        ingredientCatalogService.invalidate();
         return new ResponseEntity<>(ingredient, HttpStatus.CREATED);
     }
 
@@ -54,6 +84,10 @@ public class IngredientController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteIngredientById(@PathVariable("id") String id) {
         ingredientRepository.deleteById(id);
+        ingredientCatalogService.invalidate();
     }
 
+    private CacheControl cacheControl() {
+        return CacheControl.maxAge(ingredientProps.getCacheMaxAge()).cachePublic();
+    }
 }
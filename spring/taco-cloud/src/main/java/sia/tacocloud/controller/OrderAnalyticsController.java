@@ -0,0 +1,71 @@
+package sia.tacocloud.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import sia.tacocloud.dto.OrderVolume;
+import sia.tacocloud.repository.OrderRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Order and taco volumes for the dashboards, "from" and "to" are inclusive days and default to the last 30 days.
+@RestController
+@RequestMapping(path = "/api/orders/analytics", produces = "application/json")
+@PreAuthorize("hasRole('ADMIN') or hasAuthority('SCOPE_readOrders')")
+public class OrderAnalyticsController {
+
+    private static final int DEFAULT_DAYS = 30;
+
+    private final OrderRepository orderRepository;
+
+    @Autowired
+    public OrderAnalyticsController(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    @GetMapping("/cities")
+    public List<OrderVolume<String>> volumeByCity(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to)
+    {
+        LocalDate end = end(to);
+        return orderRepository.sumVolumeByDeliveryCity(start(from, end), end);
+    }
+
+    @GetMapping("/zips")
+    public List<OrderVolume<String>> volumeByZip(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to)
+    {
+        LocalDate end = end(to);
+        return orderRepository.sumVolumeByDeliveryZip(start(from, end), end);
+    }
+
+    @GetMapping("/days")
+    public List<OrderVolume<LocalDate>> volumeByDay(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to)
+    {
+        LocalDate end = end(to);
+        return orderRepository.sumVolumeByDay(start(from, end), end);
+    }
+
+    private static LocalDate end(LocalDate to) {
+        return to != null ? to : LocalDate.now();
+    }
+
+    private static LocalDate start(LocalDate from, LocalDate end) {
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "\"from\" must not be after \"to\"");
+        }
+        return start;
+    }
+}
@@ -0,0 +1,61 @@
+package sia.tacocloud.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import sia.tacocloud.domain.TacoOrder;
+import sia.tacocloud.dto.OrderBatchResult;
+import sia.tacocloud.service.OrderExportService;
+import sia.tacocloud.service.OrderIngestionService;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping(path = "/api/orders", produces = "application/json")
+public class OrderBatchController {
+
+    private final OrderIngestionService orderIngestionService;
+    private final OrderExportService orderExportService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OrderBatchController(OrderIngestionService orderIngestionService, OrderExportService orderExportService,
+                                ObjectMapper objectMapper)
+    {
+        this.orderIngestionService = orderIngestionService;
+        this.orderExportService = orderExportService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Accepts a JSON array or newline delimited JSON, orders are read one by one from the body, never all at once.
+    // Invalid orders, unknown ingredients and malformed JSON are the client's fault, they reject the whole batch.
+    @PostMapping(path = "/batch", consumes = {"application/json", "application/x-ndjson"})
+    @ResponseStatus(HttpStatus.CREATED)
+    public OrderBatchResult postOrders(InputStream body) throws IOException {
+        try (MappingIterator<TacoOrder> orders = objectMapper.readerFor(TacoOrder.class).readValues(body)) {
+            return new OrderBatchResult(orderIngestionService.ingest(orders));
+        } catch (ConstraintViolationException | IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed order batch: " + e.getOriginalMessage(), e);
+        } catch (RuntimeException e) {
+            // The iterator wraps parse and mapping errors of later orders in unchecked exceptions
+            if (!(e.getCause() instanceof JsonProcessingException cause)) throw e;
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed order batch: " + cause.getOriginalMessage(), e);
+        }
+    }
+
+    // Streams the whole order table as newline delimited JSON straight into the response, admins only.
+    @GetMapping(path = "/export", produces = "application/x-ndjson")
+    public void exportOrders(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        orderExportService.exportAsNdjson(response.getOutputStream());
+    }
+}
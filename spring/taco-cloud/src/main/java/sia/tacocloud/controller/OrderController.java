@@ -3,20 +3,32 @@ package sia.tacocloud.controller;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.support.SessionStatus;
+import org.springframework.web.server.ResponseStatusException;
+import sia.tacocloud.convert.ScrollPositionTokens;
 import sia.tacocloud.domain.TacoOrder;
 import sia.tacocloud.domain.User;
+import sia.tacocloud.dto.CursorPage;
+import sia.tacocloud.dto.OrderEvent;
+import sia.tacocloud.dto.OrderSummary;
 import sia.tacocloud.property.OrderProps;
 import sia.tacocloud.repository.OrderRepository;
+import sia.tacocloud.service.OrderHistoryService;
+import sia.tacocloud.service.OrderPipeline;
+import sia.tacocloud.service.OrderUpdateService;
 
 @Slf4j
 @Controller
@@ -25,11 +37,20 @@ import sia.tacocloud.repository.OrderRepository;
 public class OrderController {
 
     private OrderRepository orderRepository;
+    private OrderHistoryService orderHistoryService;
+    private OrderPipeline orderPipeline;
+    private OrderUpdateService orderUpdateService;
     private OrderProps orderProps;
 
     @Autowired
-    public OrderController(OrderRepository orderRepository, OrderProps orderProps) {
+    public OrderController(OrderRepository orderRepository, OrderHistoryService orderHistoryService,
+                           OrderPipeline orderPipeline, OrderUpdateService orderUpdateService,
+                           OrderProps orderProps)
+    {
         this.orderRepository = orderRepository;
+        this.orderHistoryService = orderHistoryService;
+        this.orderPipeline = orderPipeline;
+        this.orderUpdateService = orderUpdateService;
         this.orderProps = orderProps;
     }
 
@@ -48,7 +69,9 @@ public class OrderController {
         order.setUser(user);
 
         TacoOrder submittedOrder = orderRepository.save(order);
-        log.info("Order submitted: {}", submittedOrder);
+        log.info("Order submitted: {}", submittedOrder.getId());
+        // Receipt, kitchen and analytics happen in the order pipeline, off the request thread.
+        orderPipeline.submit(OrderEvent.of(submittedOrder));
 
         sessionStatus.setComplete();
 
@@ -59,52 +82,91 @@ public class OrderController {
     public String ordersForUsers(@AuthenticationPrincipal User user, Model model) {
 
         Pageable pageable = PageRequest.of(0, orderProps.getPageSize());
-        model.addAttribute("orders", orderRepository.findByUserOrderByPlacedAtDesc(user, pageable));
+        model.addAttribute("orders", orderHistoryService.recentOrders(user, pageable));
 
         return "orderList";
     }
 
+    // Seek based order history, "after" is the continuation token returned with the previous page.
+    @GetMapping(path = "/history", produces = "application/json")
+    @ResponseBody
+    public CursorPage<OrderSummary> orderHistory(@AuthenticationPrincipal User user,
+                                                 @RequestParam(name = "after", required = false) String after)
+    {
+        ScrollPosition position;
+        try {
+            position = ScrollPositionTokens.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
+        return CursorPage.of(orderHistoryService.orderHistory(user, position, Limit.of(orderProps.getPageSize())));
+    }
+
+    // The ETag is the order version, clients send it back with If-None-Match or If-Match.
+    // Orders of other users answer 404 like missing ones, and the body never carries the card or the user.
+    @GetMapping(path = "/{orderId}", produces = "application/json")
+    public ResponseEntity<OrderSummary> getOrder(@AuthenticationPrincipal User user,
+                                                 @PathVariable("orderId") Long orderId)
+    {
+        return orderRepository.findByIdAndUser(orderId, user)
+                              .map(OrderController::withETag)
+                              .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     // PUT is really intended to perform a wholesale replacement operation rather than an update operation.
     @PutMapping(path = "/{orderId}", consumes = "application/json")
-    public TacoOrder putOrder(@PathVariable("orderId") Long orderId, @RequestBody TacoOrder order) {
-        order.setId(orderId);
-        return orderRepository.save(order);
+    public ResponseEntity<OrderSummary> putOrder(@AuthenticationPrincipal User user,
+                                                 @PathVariable("orderId") Long orderId,
+                                                 @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @RequestBody TacoOrder order)
+    {
+        return orderUpdateService.replaceOrder(user, orderId, expectedVersion(ifMatch), order)
+                                 .map(OrderController::withETag)
+                                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PatchMapping(path = "/{orderId}", consumes = "application/json")
-    public TacoOrder patchOrder(@PathVariable("orderId") Long orderId, @RequestBody TacoOrder patch) {
+    public ResponseEntity<OrderSummary> patchOrder(@AuthenticationPrincipal User user,
+                                                   @PathVariable("orderId") Long orderId,
+                                                   @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @RequestBody TacoOrder patch)
+    {
+        return orderUpdateService.patchOrder(user, orderId, expectedVersion(ifMatch), patch)
+                                 .map(OrderController::withETag)
+                                 .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 
-        TacoOrder order = orderRepository.findById(orderId).get();
-        if (patch.getDeliveryName() != null) {
-            order.setDeliveryName(patch.getDeliveryName());
-        }
-        if (patch.getDeliveryCity() != null) {
-            order.setDeliveryCity(patch.getDeliveryCity());
-        }
-        if (patch.getDeliveryState() != null) {
-            order.setDeliveryState(patch.getDeliveryState());
-        }
-        if (patch.getDeliveryZip() != null) {
-            order.setDeliveryZip(patch.getDeliveryZip());
-        }
-        if (patch.getCcNumber() != null) {
-            order.setCcNumber(patch.getCcNumber());
-        }
-        if (patch.getCcExpiration() != null) {
-            order.setCcExpiration(patch.getCcExpiration());
-        }
-        if (patch.getCcCVV() != null) {
-            order.setCcCVV(patch.getCcCVV());
-        }
+    @DeleteMapping("/{orderId}")
+    public ResponseEntity<Void> deleteOrder(@AuthenticationPrincipal User user, @PathVariable("orderId") Long orderId) {
+        return orderUpdateService.deleteOrder(user, orderId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
 
-        return orderRepository.save(order);
+    // Somebody else updated the order since the client read it, the client has to read it again.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public void orderChanged() {
     }
 
-    @DeleteMapping("/{orderId}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteOrder(@PathVariable("orderId") Long orderId) {
-        try {
-            orderRepository.deleteById(orderId);
-        } catch (EmptyResultDataAccessException e) {}
+    // Mapped after the service call, the version of a changed order is only incremented when its transaction commits.
+    private static ResponseEntity<OrderSummary> withETag(TacoOrder order) {
+        return ResponseEntity.ok().eTag("\"" + order.getVersion() + "\"").body(OrderSummary.of(order));
+    }
+
+    // Only a single strong ETag can name a version, "*" or no header at all means any current version is fine.
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Falls through, no version of the order can match this tag.
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not name an order version");
     }
 }
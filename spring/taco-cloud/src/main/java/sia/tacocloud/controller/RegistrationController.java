@@ -1,6 +1,7 @@
 package sia.tacocloud.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,11 +15,15 @@ import sia.tacocloud.repository.UserRepository;
 public class RegistrationController {
     private UserRepository userRepository;
     private PasswordEncoder passwordEncoder;
+    private UserCache userCache;
 
     @Autowired
-    public RegistrationController(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public RegistrationController(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                                  UserCache userCache)
+    {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
     }
 
     @GetMapping
@@ -29,6 +34,7 @@ public class RegistrationController {
     @PostMapping
     public String processRegistration(RegistrationForm form) {
         userRepository.save(form.toUser(passwordEncoder));
+        userCache.removeUserFromCache(form.getUsername());
         return "redirect:/login";
     }
 
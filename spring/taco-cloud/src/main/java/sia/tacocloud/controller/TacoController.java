@@ -1,12 +1,17 @@
 package sia.tacocloud.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import sia.tacocloud.convert.ScrollPositionTokens;
 import sia.tacocloud.domain.Taco;
+import sia.tacocloud.dto.CursorPage;
 import sia.tacocloud.repository.TacoRepository;
 
 import java.util.Optional;
@@ -30,6 +35,19 @@ public class TacoController {
         return tacoRepository.findAll(page).getContent();
     }
 
+    // Seek based alternative to the offset paging above, "after" is the continuation token of the previous page.
+    @GetMapping("/recent")
+    public CursorPage<Taco> recentTacos(@RequestParam(name = "after", required = false) String after) {
+        ScrollPosition position;
+        try {
+            position = ScrollPositionTokens.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
+        return CursorPage.of(tacoRepository.findByOrderByCreatedAtDescIdDesc(position, Limit.of(12)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Taco> tacoById(@PathVariable("id") Long id) {
         Optional<Taco> taco = tacoRepository.findById(id);
@@ -0,0 +1,28 @@
+package sia.tacocloud.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import sia.tacocloud.service.CachingOpaqueTokenIntrospector;
+
+// Whoever revokes a token at the auth server reports it here, so the cached introspection does not outlive it.
+@RestController
+@RequestMapping("/api/tokens")
+@ConditionalOnProperty(name = "taco.resource-server.enabled", havingValue = "true")
+public class TokenRevocationController {
+
+    private final CachingOpaqueTokenIntrospector opaqueTokenIntrospector;
+
+    @Autowired
+    public TokenRevocationController(CachingOpaqueTokenIntrospector opaqueTokenIntrospector) {
+        this.opaqueTokenIntrospector = opaqueTokenIntrospector;
+    }
+
+    @PostMapping(path = "/revoked", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void tokenRevoked(@RequestParam("token") String token) {
+        opaqueTokenIntrospector.evict(token);
+    }
+}
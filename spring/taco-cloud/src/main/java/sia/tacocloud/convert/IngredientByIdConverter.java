@@ -4,26 +4,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
 import sia.tacocloud.domain.Ingredient;
-import sia.tacocloud.domain.Ingredient.Type;
-import sia.tacocloud.repository.IngredientRepository;
-
-import java.util.HashMap;
-import java.util.Map;
+import sia.tacocloud.service.IngredientCatalogService;
 
 /*
 * This converter is used in the DesignTacoController, to convert the data from the post request to a valid taco format
 * */
 @Component
 public class IngredientByIdConverter implements Converter<String, Ingredient> {
-    private IngredientRepository ingredientRepository;
+    private IngredientCatalogService ingredientCatalogService;
 
     @Autowired
-    public IngredientByIdConverter(IngredientRepository ingredientRepository) {
-        this.ingredientRepository = ingredientRepository;
+    public IngredientByIdConverter(IngredientCatalogService ingredientCatalogService) {
+        this.ingredientCatalogService = ingredientCatalogService;
     }
 
     @Override
     public Ingredient convert(String id) {
-        return ingredientRepository.findById(id).orElse(null);
+        return ingredientCatalogService.findById(id).orElse(null);
     }
 }
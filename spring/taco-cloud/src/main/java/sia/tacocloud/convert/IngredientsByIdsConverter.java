@@ -0,0 +1,82 @@
+package sia.tacocloud.convert;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.ConditionalGenericConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.service.IngredientCatalogService;
+
+import java.util.*;
+
+/*
+* This converter binds the whole ingredient selection of a taco form in one go. Without it Spring converts every
+* selected id on its own through the IngredientByIdConverter, resolved ingredients are also remembered for the rest
+* of the request so re-binding the same ids does not resolve them again.
+* */
+@Component
+public class IngredientsByIdsConverter implements ConditionalGenericConverter {
+    static final String RESOLVED_INGREDIENTS_ATTRIBUTE = IngredientsByIdsConverter.class.getName() + ".RESOLVED";
+
+    private IngredientCatalogService ingredientCatalogService;
+
+    @Autowired
+    public IngredientsByIdsConverter(IngredientCatalogService ingredientCatalogService) {
+        this.ingredientCatalogService = ingredientCatalogService;
+    }
+
+    @Override
+    public Set<ConvertiblePair> getConvertibleTypes() {
+        return Set.of(new ConvertiblePair(String[].class, Collection.class),
+                      new ConvertiblePair(String.class, Collection.class));
+    }
+
+    @Override
+    public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
+        TypeDescriptor elementType = targetType.getElementTypeDescriptor();
+        return elementType != null && elementType.getType().equals(Ingredient.class);
+    }
+
+    @Override
+    public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+        if (source == null) return null;
+
+        String[] ids = source instanceof String[] array ? array
+                                                         : StringUtils.commaDelimitedListToStringArray((String) source);
+
+        Map<String, Ingredient> resolved = resolvedIngredients();
+        List<String> unresolved = new ArrayList<>();
+        for (String id : ids) {
+            if (!resolved.containsKey(id)) unresolved.add(id);
+        }
+        if (!unresolved.isEmpty()) resolved.putAll(ingredientCatalogService.findAllById(unresolved));
+
+        Collection<Object> ingredients = CollectionFactory.createCollection(targetType.getType(), Ingredient.class,
+                                                                            ids.length);
+        for (String id : ids) {
+            Ingredient ingredient = resolved.get(id);
+            if (ingredient != null) ingredients.add(ingredient);
+        }
+
+        return ingredients;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Ingredient> resolvedIngredients() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) return new HashMap<>();
+
+        Object resolved = requestAttributes.getAttribute(RESOLVED_INGREDIENTS_ATTRIBUTE,
+                                                         RequestAttributes.SCOPE_REQUEST);
+        if (resolved == null) {
+            resolved = new HashMap<String, Ingredient>();
+            requestAttributes.setAttribute(RESOLVED_INGREDIENTS_ATTRIBUTE, resolved, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return (Map<String, Ingredient>) resolved;
+    }
+}
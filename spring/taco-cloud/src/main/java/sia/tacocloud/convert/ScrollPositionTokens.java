@@ -0,0 +1,64 @@
+package sia.tacocloud.convert;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+* Turns keyset scroll positions into opaque continuation tokens and back, so clients only pass around a string and
+* never depend on the columns used for seeking.
+* */
+public final class ScrollPositionTokens {
+
+    private ScrollPositionTokens() {
+    }
+
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) return null;
+
+        StringBuilder token = new StringBuilder();
+        for (Map.Entry<String, Object> key : keyset.getKeys().entrySet()) {
+            if (!token.isEmpty()) token.append(';');
+            token.append(key.getKey()).append('=').append(encodeValue(key.getValue()));
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ScrollPosition decode(String token) {
+        if (token == null || token.isBlank()) return ScrollPosition.keyset();
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (String key : decoded.split(";")) {
+                String[] nameAndValue = key.split("=", 2);
+                keys.put(nameAndValue[0], decodeValue(nameAndValue[1]));
+            }
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid continuation token '" + token + "'", e);
+        }
+    }
+
+    private static String encodeValue(Object value) {
+        if (value instanceof LocalDate date) return "d:" + date;
+        if (value instanceof Long number) return "l:" + number;
+
+        throw new IllegalArgumentException("Unsupported keyset value " + value);
+    }
+
+    private static Object decodeValue(String value) {
+        String[] typeAndValue = value.split(":", 2);
+        return switch (typeAndValue[0]) {
+            case "d" -> LocalDate.parse(typeAndValue[1]);
+            case "l" -> Long.parseLong(typeAndValue[1]);
+            default -> throw new IllegalArgumentException("Unsupported keyset value " + value);
+        };
+    }
+}
@@ -3,11 +3,15 @@ package sia.tacocloud.domain;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+// Reference data, read on every design page. Not READ_ONLY because the ingredients API can still update a row.
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "ingredients")
 @Data
 @AllArgsConstructor
-@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+@NoArgsConstructor(access = AccessLevel.PROTECTED, force = true)
 public class Ingredient {
 
     @Id
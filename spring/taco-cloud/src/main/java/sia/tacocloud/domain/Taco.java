@@ -9,12 +9,14 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "ix_taco_created_at_id", columnList = "createdAt, id"))
 @Data
 public class Taco {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "taco_seq")
+    @SequenceGenerator(name = "taco_seq", sequenceName = "taco_seq", allocationSize = 50)
     private Long id;
-    private LocalDate createdAt;
+    private LocalDate createdAt = LocalDate.now();
 
     @NotNull
     @Size(min = 5, message = "Name must be at least 5 characters long")
@@ -1,26 +1,48 @@
 package sia.tacocloud.domain;
 
 import jakarta.persistence.*;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.validator.constraints.CreditCardNumber;
 
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Data
 @Entity
+// Updates only write the columns that changed, a PATCH of the delivery zip does not rewrite the card details.
+@DynamicUpdate
+@Table(indexes = {
+        @Index(name = "ix_taco_order_user_placed_at_id", columnList = "user_id, placedAt, id"),
+        // The order analytics filter on a range of days and group by city or zip code.
+        @Index(name = "ix_taco_order_placed_at_delivery_city", columnList = "placedAt, deliveryCity"),
+        @Index(name = "ix_taco_order_placed_at_delivery_zip", columnList = "placedAt, deliveryZip"),
+        // Access paths of the city and zip code lookups.
+        @Index(name = "ix_taco_order_delivery_city", columnList = "deliveryCity"),
+        @Index(name = "ix_taco_order_delivery_zip_placed_at", columnList = "deliveryZip, placedAt"),
+        @Index(name = "ix_taco_order_street_city_key", columnList = "deliveryStreetKey, deliveryCityKey")
+})
 public class TacoOrder implements Serializable {
 
     private static final long serialVersionUID = 1L;
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "taco_order_seq")
+    @SequenceGenerator(name = "taco_order_seq", sequenceName = "taco_order_seq", allocationSize = 50)
     private Long id;
-    private LocalDate placedAt;
+    // Incremented on every update, concurrent writers of the same order fail instead of overwriting each other.
+    @Version
+    private Long version;
+    private LocalDate placedAt = LocalDate.now();
 
     @NotBlank(message = "Delivery name is required")
     private String deliveryName;
@@ -31,6 +53,21 @@ public class TacoOrder implements Serializable {
     @NotBlank(message = "City is required")
     private String deliveryCity;
 
+    // Lower-cased copies of street and city for case-insensitive lookups, an index on them replaces a scan that
+    // lower-cases every row. The database computes them on every write, rows written by any client stay in sync.
+    // Never written from here and not read back after a save, only queries use them.
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @Column(insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(50) GENERATED ALWAYS AS (LOWER(delivery_street))")
+    private String deliveryStreetKey;
+
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @Column(insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(50) GENERATED ALWAYS AS (LOWER(delivery_city))")
+    private String deliveryCityKey;
+
     @NotBlank(message = "State is required")
     private String deliveryState;
 
@@ -46,7 +83,13 @@ public class TacoOrder implements Serializable {
     @Digits(integer = 3, fraction = 0, message = "Invalid CVV")
     private String ccCVV;
 
+    @Valid
     @OneToMany(cascade = CascadeType.ALL)
+    // Indexed on the order side, counting the tacos of orders joins through it.
+    @JoinTable(name = "taco_order_tacos",
+               joinColumns = @JoinColumn(name = "taco_order_id"),
+               inverseJoinColumns = @JoinColumn(name = "tacos_id"),
+               indexes = @Index(name = "ix_taco_order_tacos_order", columnList = "taco_order_id"))
     private List<Taco> tacos = new ArrayList<>();
     @ManyToOne
     private User user;
@@ -54,4 +97,9 @@ public class TacoOrder implements Serializable {
     public void addTaco(Taco taco) {
         this.tacos.add(taco);
     }
+
+    // Lower-cases a search term the way the generated key columns lower-case the stored values.
+    public static String searchKey(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
 }
@@ -0,0 +1,22 @@
+package sia.tacocloud.dto;
+
+import lombok.Value;
+import org.springframework.data.domain.Window;
+import sia.tacocloud.convert.ScrollPositionTokens;
+
+import java.util.List;
+
+@Value
+public class CursorPage<T> {
+    List<T> content;
+    // Token to pass back to get the next page, null on the last page.
+    String next;
+
+    public static <T> CursorPage<T> of(Window<T> window) {
+        String next = window.hasNext() && !window.isEmpty()
+                      ? ScrollPositionTokens.encode(window.positionAt(window.size() - 1))
+                      : null;
+
+        return new CursorPage<>(window.getContent(), next);
+    }
+}
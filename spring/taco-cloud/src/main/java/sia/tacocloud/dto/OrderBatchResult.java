@@ -0,0 +1,8 @@
+package sia.tacocloud.dto;
+
+import lombok.Value;
+
+@Value
+public class OrderBatchResult {
+    long ordersSaved;
+}
@@ -0,0 +1,23 @@
+package sia.tacocloud.dto;
+
+import lombok.Value;
+import sia.tacocloud.domain.Taco;
+import sia.tacocloud.domain.TacoOrder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// What the kitchen dashboards get to see about a new order, no customer or payment details.
+@Value
+public class OrderEvent {
+    Long orderId;
+    LocalDate placedAt;
+    String deliveryCity;
+    String deliveryZip;
+    List<String> tacos;
+
+    public static OrderEvent of(TacoOrder order) {
+        return new OrderEvent(order.getId(), order.getPlacedAt(), order.getDeliveryCity(), order.getDeliveryZip(),
+                              order.getTacos().stream().map(Taco::getName).toList());
+    }
+}
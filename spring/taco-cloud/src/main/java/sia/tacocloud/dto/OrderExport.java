@@ -0,0 +1,38 @@
+package sia.tacocloud.dto;
+
+import lombok.Value;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.Taco;
+import sia.tacocloud.domain.TacoOrder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// One line of the order export, the delivery and what was ordered. Card details and the customer account stay out.
+@Value
+public class OrderExport {
+    Long id;
+    LocalDate placedAt;
+    String deliveryName;
+    String deliveryStreet;
+    String deliveryCity;
+    String deliveryState;
+    String deliveryZip;
+    List<ExportedTaco> tacos;
+
+    @Value
+    public static class ExportedTaco {
+        String name;
+        List<String> ingredients;
+    }
+
+    public static OrderExport of(TacoOrder order) {
+        return new OrderExport(order.getId(), order.getPlacedAt(), order.getDeliveryName(), order.getDeliveryStreet(),
+                               order.getDeliveryCity(), order.getDeliveryState(), order.getDeliveryZip(),
+                               order.getTacos().stream().map(OrderExport::exportTaco).toList());
+    }
+
+    private static ExportedTaco exportTaco(Taco taco) {
+        return new ExportedTaco(taco.getName(), taco.getIngredients().stream().map(Ingredient::getId).toList());
+    }
+}
@@ -0,0 +1,27 @@
+package sia.tacocloud.dto;
+
+import lombok.Value;
+import sia.tacocloud.domain.Taco;
+import sia.tacocloud.domain.TacoOrder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// What the REST API shows a customer of their own order, the card details and the user account stay out.
+@Value
+public class OrderSummary {
+    Long id;
+    LocalDate placedAt;
+    String deliveryName;
+    String deliveryStreet;
+    String deliveryCity;
+    String deliveryState;
+    String deliveryZip;
+    List<String> tacos;
+
+    public static OrderSummary of(TacoOrder order) {
+        return new OrderSummary(order.getId(), order.getPlacedAt(), order.getDeliveryName(), order.getDeliveryStreet(),
+                                order.getDeliveryCity(), order.getDeliveryState(), order.getDeliveryZip(),
+                                order.getTacos().stream().map(Taco::getName).toList());
+    }
+}
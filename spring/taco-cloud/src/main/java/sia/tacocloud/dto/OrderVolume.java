@@ -0,0 +1,11 @@
+package sia.tacocloud.dto;
+
+import lombok.Value;
+
+// One row of an order analytics query, the key is whatever the orders were grouped by: a city, a zip code or a day.
+@Value
+public class OrderVolume<K> {
+    K key;
+    long orders;
+    long tacos;
+}
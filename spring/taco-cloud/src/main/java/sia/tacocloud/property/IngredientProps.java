@@ -0,0 +1,16 @@
+package sia.tacocloud.property;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("taco.ingredients")
+@Data
+@Validated
+public class IngredientProps {
+    private Duration cacheMaxAge = Duration.ofMinutes(1);
+}
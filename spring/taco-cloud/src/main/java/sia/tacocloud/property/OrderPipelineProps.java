@@ -0,0 +1,26 @@
+package sia.tacocloud.property;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("taco.orders.pipeline")
+@Data
+@Validated
+public class OrderPipelineProps {
+    @Min(value=1, message="must be greater than 0")
+    private int queueCapacity = 1000;
+
+    @Min(value=1, message="must be greater than 0")
+    private int batchSize = 50;
+
+    @Min(value=1, message="must be greater than 0")
+    private int workers = 2;
+
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+}
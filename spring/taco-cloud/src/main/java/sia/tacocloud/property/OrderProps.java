@@ -15,4 +15,13 @@ public class OrderProps {
     @Min(value=5, message="must be between 5 and 25")
     @Max(value=25, message="must be between 5 and 25")
     private int pageSize = 20;
+
+    @Min(value=1, message="must be greater than 0")
+    private int batchChunkSize = 500;
+
+    @Min(value=1, message="must be greater than 0")
+    private int feedReplaySize = 16;
+
+    @Min(value=1, message="must be greater than 0")
+    private int feedSubscriberBuffer = 256;
 }
@@ -0,0 +1,34 @@
+package sia.tacocloud.property;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("taco.resource-server")
+@Data
+@Validated
+public class ResourceServerProps {
+    // Off by default, /api/** then stays open like it always was.
+    private boolean enabled = false;
+
+    private String introspectionUri = "http://localhost:9000/oauth2/introspect";
+    private String clientId = "taco-admin-client";
+    private String clientSecret;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    @Min(value=1, message="must be greater than 0")
+    private int cacheSize = 10000;
+
+    // Longest time an active token is trusted without asking the auth server again, bounds how long a token revoked
+    // there keeps working here.
+    private Duration cacheTtl = Duration.ofMinutes(1);
+
+    private Duration inactiveCacheTtl = Duration.ofSeconds(10);
+}
@@ -0,0 +1,25 @@
+package sia.tacocloud.property;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("taco.security")
+@Data
+@Validated
+public class SecurityProps {
+    @Min(value=4, message="must be between 4 and 31")
+    @Max(value=31, message="must be between 4 and 31")
+    private int bcryptStrength = 10;
+
+    @Min(value=1, message="must be greater than 0")
+    private int userCacheSize = 1000;
+
+    private Duration userCacheTtl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,20 @@
+package sia.tacocloud.property;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("taco.threads")
+@Data
+@Validated
+public class ThreadingProps {
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    @Min(value=1, message="must be greater than 0")
+    private int expectedConcurrency = 200;
+}
@@ -1,7 +1,9 @@
 package sia.tacocloud.reactiveController;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -13,6 +15,11 @@ import sia.tacocloud.repository.TacoReactiveRepository;
 @CrossOrigin(origins = "*")
 public class TacoController {
 
+    private static final int RECENT_TACOS = 12;
+    private static final int MAX_STREAMED_TACOS = 1000;
+    // Elements requested from the repository at a time while streaming, keeps memory bounded for slow clients.
+    private static final int STREAM_PREFETCH = 32;
+
     TacoReactiveRepository tacoReactiveRepository;
 
     @Autowired
@@ -22,7 +29,15 @@ public class TacoController {
 
     @GetMapping(params = "recent")
     public Flux<Taco> recentTacos() {
-        return tacoReactiveRepository.findAll().take(12);
+        return tacoReactiveRepository.findByOrderByCreatedAtDesc(Limit.of(RECENT_TACOS));
+    }
+
+    // Larger windows are streamed element by element, the client's demand drives how fast rows are read.
+    @GetMapping(params = "recent", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Taco> streamRecentTacos(@RequestParam(name = "limit", defaultValue = "100") int limit) {
+        int window = Math.max(1, Math.min(limit, MAX_STREAMED_TACOS));
+
+        return tacoReactiveRepository.findByOrderByCreatedAtDesc(Limit.of(window)).limitRate(STREAM_PREFETCH);
     }
 
     @GetMapping("/{id}")
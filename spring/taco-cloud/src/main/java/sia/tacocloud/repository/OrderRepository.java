@@ -1,27 +1,82 @@
 package sia.tacocloud.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import sia.tacocloud.domain.TacoOrder;
 import sia.tacocloud.domain.User;
+import sia.tacocloud.dto.OrderVolume;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends CrudRepository<TacoOrder, Long> {
     List<TacoOrder> findByDeliveryZip(String deliveryZip);
 
+    // Somebody else's order is not found at all, see OrderController.
+    Optional<TacoOrder> findByIdAndUser(Long id, User user);
+
     List<TacoOrder> readOrdersByDeliveryZipAndPlacedAtBetween(String deliveryZip, LocalDate startDate,
                                                               LocalDate endDate);
 
-    List<TacoOrder> findByDeliveryStreetAndDeliveryCityAllIgnoreCase(String deliveryStreet, String deliveryCity);
+    // Matches on the lower-cased key columns, which are indexed, instead of lower-casing every row.
+    default List<TacoOrder> findByDeliveryStreetAndDeliveryCityAllIgnoreCase(String deliveryStreet,
+                                                                             String deliveryCity)
+    {
+        return findByDeliveryStreetKeyAndDeliveryCityKey(TacoOrder.searchKey(deliveryStreet),
+                                                         TacoOrder.searchKey(deliveryCity));
+    }
+
+    List<TacoOrder> findByDeliveryStreetKeyAndDeliveryCityKey(String deliveryStreetKey, String deliveryCityKey);
 
     List<TacoOrder> findByDeliveryCityOrderByDeliveryCity(String city);
 
+    @EntityGraph(attributePaths = "user")
     List<TacoOrder> findByUserOrderByPlacedAtDesc(User user, Pageable pageable);
 
+    // Keyset scrolling over (placedAt, id) for the order history of a user.
+    Window<TacoOrder> findByUserOrderByPlacedAtDescIdDesc(User user, ScrollPosition position, Limit limit);
+
     @Query("SELECT o FROM TacoOrder o WHERE o.deliveryCity = 'Seattle'")
     List<TacoOrder> readOrdersDeliveredInSeattle();
 
+    // Initializes the tacos of already loaded orders with one query, see OrderHistoryService.
+    @Query("SELECT DISTINCT o FROM TacoOrder o LEFT JOIN FETCH o.tacos WHERE o IN :orders")
+    List<TacoOrder> fetchTacos(@Param("orders") Collection<TacoOrder> orders);
+
+    // Scrolls over every order with a JDBC cursor, must be consumed inside a transaction, see OrderExportService.
+    // The eager user is joined, otherwise every order of a cleared chunk selects its user again.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM TacoOrder o LEFT JOIN FETCH o.user ORDER BY o.id")
+    Stream<TacoOrder> streamAllByOrderById();
+
+    // Order analytics are grouped by the database, one row per group instead of one entity per order.
+    @Query("SELECT new sia.tacocloud.dto.OrderVolume(o.deliveryCity, COUNT(DISTINCT o.id), COUNT(t.id)) " +
+           "FROM TacoOrder o LEFT JOIN o.tacos t WHERE o.placedAt BETWEEN :from AND :to " +
+           "GROUP BY o.deliveryCity ORDER BY COUNT(DISTINCT o.id) DESC, o.deliveryCity")
+    List<OrderVolume<String>> sumVolumeByDeliveryCity(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new sia.tacocloud.dto.OrderVolume(o.deliveryZip, COUNT(DISTINCT o.id), COUNT(t.id)) " +
+           "FROM TacoOrder o LEFT JOIN o.tacos t WHERE o.placedAt BETWEEN :from AND :to " +
+           "GROUP BY o.deliveryZip ORDER BY COUNT(DISTINCT o.id) DESC, o.deliveryZip")
+    List<OrderVolume<String>> sumVolumeByDeliveryZip(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new sia.tacocloud.dto.OrderVolume(o.placedAt, COUNT(DISTINCT o.id), COUNT(t.id)) " +
+           "FROM TacoOrder o LEFT JOIN o.tacos t WHERE o.placedAt BETWEEN :from AND :to " +
+           "GROUP BY o.placedAt ORDER BY o.placedAt")
+    List<OrderVolume<LocalDate>> sumVolumeByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -1,7 +1,11 @@
 package sia.tacocloud.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
 import sia.tacocloud.domain.Taco;
 
 public interface TacoReactiveRepository extends ReactiveCrudRepository<Taco, Long> {
+    // Ordering and the row limit are part of the query, so the database never reads more than the requested window.
+    Flux<Taco> findByOrderByCreatedAtDesc(Limit limit);
 }
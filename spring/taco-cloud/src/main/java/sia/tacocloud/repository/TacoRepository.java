@@ -1,10 +1,25 @@
 package sia.tacocloud.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import sia.tacocloud.domain.Taco;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface TacoRepository extends CrudRepository<Taco, Long> {
     Page<Taco> findAll(Pageable pageable);
+
+    // Keyset scrolling over (createdAt, id), every page is an index seek no matter how deep it is.
+    Window<Taco> findByOrderByCreatedAtDescIdDesc(ScrollPosition position, Limit limit);
+
+    // Initializes the ingredients of already loaded tacos with one query, see OrderHistoryService.
+    @Query("SELECT DISTINCT t FROM Taco t LEFT JOIN FETCH t.ingredients WHERE t IN :tacos")
+    List<Taco> fetchIngredients(@Param("tacos") Collection<Taco> tacos);
 }
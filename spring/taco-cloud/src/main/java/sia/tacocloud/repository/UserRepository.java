@@ -1,8 +1,17 @@
 package sia.tacocloud.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import sia.tacocloud.domain.User;
 
 public interface UserRepository extends CrudRepository<User, Long> {
+
+    // The query cache keeps the matching id, the user itself then comes from the "users" entity region.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "users-by-username")
+    })
     User findByUsername(String username);
 }
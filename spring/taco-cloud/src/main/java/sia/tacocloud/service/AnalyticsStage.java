@@ -0,0 +1,36 @@
+package sia.tacocloud.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import sia.tacocloud.dto.OrderEvent;
+
+import java.util.List;
+
+@Component
+@Order(3)
+public class AnalyticsStage implements OrderStage {
+
+    private final Counter ordersPlaced;
+    private final Counter tacosOrdered;
+
+    @Autowired
+    public AnalyticsStage(MeterRegistry meterRegistry) {
+        this.ordersPlaced = meterRegistry.counter("taco.orders.placed");
+        this.tacosOrdered = meterRegistry.counter("taco.tacos.ordered");
+    }
+
+    @Override
+    public String name() {
+        return "analytics";
+    }
+
+    // One increment per batch rather than per order.
+    @Override
+    public void process(List<OrderEvent> orders) {
+        ordersPlaced.increment(orders.size());
+        tacosOrdered.increment(orders.stream().mapToInt(order -> order.getTacos().size()).sum());
+    }
+}
@@ -0,0 +1,113 @@
+package sia.tacocloud.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.security.oauth2.server.resource.introspection.BadOpaqueTokenException;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+import sia.tacocloud.property.ResourceServerProps;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/*
+* Remembers what the auth server said about a bearer token, so only the first request with a token pays for the
+* remote introspection. Entries are keyed by the SHA-256 of the token, the tokens themselves are never kept. An active
+* token is trusted until it expires or for cacheTtl, whichever comes first, an inactive one is rejected for
+* inactiveCacheTtl. Concurrent requests with the same new token share one introspection. Failures to reach the auth
+* server are not cached. The auth server does not notify resource servers of revocations, a token revoked there keeps
+* working here until its entry expires, at most cacheTtl, unless the revocation is reported through evict().
+* */
+public class CachingOpaqueTokenIntrospector implements OpaqueTokenIntrospector {
+
+    private final OpaqueTokenIntrospector delegate;
+    private final Duration cacheTtl;
+    private final Duration inactiveCacheTtl;
+    private final Clock clock;
+    private final Cache<String, Introspection> introspections;
+
+    public CachingOpaqueTokenIntrospector(OpaqueTokenIntrospector delegate, ResourceServerProps props) {
+        this(delegate, props, Clock.systemUTC());
+    }
+
+    CachingOpaqueTokenIntrospector(OpaqueTokenIntrospector delegate, ResourceServerProps props, Clock clock) {
+        this.delegate = delegate;
+        this.cacheTtl = props.getCacheTtl();
+        this.inactiveCacheTtl = props.getInactiveCacheTtl();
+        this.clock = clock;
+        this.introspections = Caffeine.newBuilder()
+                                      .maximumSize(props.getCacheSize())
+                                      .expireAfter(new IntrospectionExpiry())
+                                      .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                                      .build();
+    }
+
+    @Override
+    public OAuth2AuthenticatedPrincipal introspect(String token) {
+        Introspection introspection = introspections.get(hash(token), key -> load(token));
+        if (introspection.principal() == null) throw new BadOpaqueTokenException("Provided token isn't active");
+        return introspection.principal();
+    }
+
+    // Forgets what the auth server said about the token, the next request with it is introspected again. Eviction can
+    // only make a token ask the auth server sooner, never let one in.
+    public void evict(String token) {
+        introspections.invalidate(hash(token));
+    }
+
+    private Introspection load(String token) {
+        OAuth2AuthenticatedPrincipal principal;
+        try {
+            principal = delegate.introspect(token);
+        } catch (BadOpaqueTokenException e) {
+            return new Introspection(null, inactiveCacheTtl);
+        }
+
+        Duration ttl = cacheTtl;
+        Instant expiresAt = principal.getAttribute(OAuth2TokenIntrospectionClaimNames.EXP);
+        if (expiresAt != null) {
+            Duration untilExpiry = Duration.between(clock.instant(), expiresAt);
+            if (untilExpiry.compareTo(ttl) < 0) ttl = untilExpiry.isNegative() ? Duration.ZERO : untilExpiry;
+        }
+        return new Introspection(principal, ttl);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // No principal means the auth server reported the token inactive.
+    private record Introspection(OAuth2AuthenticatedPrincipal principal, Duration ttl) {
+    }
+
+    // An entry lives for the ttl it was loaded with, reads never extend it.
+    private static class IntrospectionExpiry implements Expiry<String, Introspection> {
+        @Override
+        public long expireAfterCreate(String key, Introspection value, long currentTime) {
+            return value.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Introspection value, long currentTime, long currentDuration) {
+            return value.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Introspection value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
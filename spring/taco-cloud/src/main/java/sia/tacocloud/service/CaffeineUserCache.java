@@ -0,0 +1,42 @@
+package sia.tacocloud.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import sia.tacocloud.property.SecurityProps;
+
+/*
+* Bounded, expiring cache of authenticated users, plugged into the DaoAuthenticationProvider so repeated logins and
+* API calls skip the user lookup. The provider reloads the user itself when a cached one fails the password check.
+* */
+@Service
+public class CaffeineUserCache implements UserCache {
+
+    private final Cache<String, UserDetails> users;
+
+    @Autowired
+    public CaffeineUserCache(SecurityProps securityProps) {
+        this.users = Caffeine.newBuilder()
+                             .maximumSize(securityProps.getUserCacheSize())
+                             .expireAfterWrite(securityProps.getUserCacheTtl())
+                             .build();
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return users.getIfPresent(username);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        users.put(user.getUsername(), user);
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        users.invalidate(username);
+    }
+}
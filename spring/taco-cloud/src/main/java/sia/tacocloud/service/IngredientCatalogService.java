@@ -0,0 +1,112 @@
+package sia.tacocloud.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.Ingredient.Type;
+import sia.tacocloud.repository.IngredientRepository;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * In-memory view of the ingredient table. Ingredients are reference data that change rarely, so the catalog is
+ * loaded once, kept pre-grouped by type, and only reloaded after a write goes through the ingredients API.
+ * */
+@Service
+public class IngredientCatalogService {
+
+    private final IngredientRepository ingredientRepository;
+    private final AtomicLong generation = new AtomicLong();
+    // Keeps versions handed out before a restart from matching the ones handed out after it.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private volatile Catalog catalog;
+
+    @Autowired
+    public IngredientCatalogService(IngredientRepository ingredientRepository) {
+        this.ingredientRepository = ingredientRepository;
+    }
+
+    public Collection<Ingredient> findAll() {
+        return catalog().byId.values();
+    }
+
+    public Optional<Ingredient> findById(String id) {
+        return Optional.ofNullable(catalog().byId.get(id));
+    }
+
+    // Resolves a whole selection at once; ids missing from the snapshot are looked up together in a single query.
+    public Map<String, Ingredient> findAllById(Collection<String> ids) {
+        Catalog current = catalog();
+        Map<String, Ingredient> found = new LinkedHashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+
+        for (String id : ids) {
+            Ingredient ingredient = current.byId.get(id);
+            if (ingredient != null) found.put(id, ingredient);
+            else missing.add(id);
+        }
+
+        if (!missing.isEmpty()) {
+            for (Ingredient ingredient : ingredientRepository.findAllById(missing))
+                found.put(ingredient.getId(), ingredient);
+        }
+
+        return found;
+    }
+
+    public List<Ingredient> findByType(Type type) {
+        return catalog().byType.get(type);
+    }
+
+    public Map<Type, List<Ingredient>> findAllGroupedByType() {
+        return catalog().byType;
+    }
+
+    // Body and version of a response have to come from the same snapshot, a write in between would mix them up.
+    public Catalog snapshot() {
+        return catalog();
+    }
+
+    // Called on every write path of the ingredients API, the next read rebuilds the catalog from the database.
+    public void invalidate() {
+        generation.incrementAndGet();
+        catalog = null;
+    }
+
+    private Catalog catalog() {
+        Catalog current = catalog;
+        if (current == null) {
+            synchronized (this) {
+                current = catalog;
+                if (current == null) {
+                    long loadedGeneration = generation.get();
+                    current = load(loadedGeneration);
+                    // A write that happened while loading may not be part of this snapshot, so it is not kept.
+                    if (generation.get() == loadedGeneration) catalog = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Catalog load(long loadedGeneration) {
+        Map<String, Ingredient> byId = new LinkedHashMap<>();
+        Map<Type, List<Ingredient>> byType = new EnumMap<>(Type.class);
+        for (Type type : Type.values()) byType.put(type, new ArrayList<>());
+
+        for (Ingredient ingredient : ingredientRepository.findAll()) {
+            byId.put(ingredient.getId(), ingredient);
+            byType.get(ingredient.getType()).add(ingredient);
+        }
+
+        byType.replaceAll((type, ingredients) -> List.copyOf(ingredients));
+        return new Catalog(Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byType),
+                           epoch + "-" + loadedGeneration);
+    }
+
+    // The version changes whenever the catalog is reloaded after a write, it is what the ingredients API hands out
+    // as ETag.
+    public record Catalog(Map<String, Ingredient> byId, Map<Type, List<Ingredient>> byType, String version) {
+    }
+}
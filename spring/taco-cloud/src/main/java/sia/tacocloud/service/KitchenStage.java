@@ -0,0 +1,31 @@
+package sia.tacocloud.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import sia.tacocloud.dto.OrderEvent;
+
+import java.util.List;
+
+// The kitchen learns about new orders through the live order feed.
+@Component
+@Order(2)
+public class KitchenStage implements OrderStage {
+
+    private final OrderEventPublisher orderEventPublisher;
+
+    @Autowired
+    public KitchenStage(OrderEventPublisher orderEventPublisher) {
+        this.orderEventPublisher = orderEventPublisher;
+    }
+
+    @Override
+    public String name() {
+        return "kitchen";
+    }
+
+    @Override
+    public void process(List<OrderEvent> orders) {
+        for (OrderEvent order : orders) orderEventPublisher.publish(order);
+    }
+}
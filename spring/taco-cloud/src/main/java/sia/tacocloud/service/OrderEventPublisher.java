@@ -0,0 +1,50 @@
+package sia.tacocloud.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import sia.tacocloud.domain.TacoOrder;
+import sia.tacocloud.dto.OrderEvent;
+import sia.tacocloud.property.OrderProps;
+
+/*
+* Fans new orders out to the live order feed. The sink replays a bounded number of recent events to new subscribers,
+* and every subscriber drains it into its own bounded buffer that drops the oldest events, so a slow dashboard only
+* loses events itself instead of holding back the publisher or the other subscribers.
+* */
+@Slf4j
+@Service
+public class OrderEventPublisher {
+
+    private final Sinks.Many<OrderEvent> sink;
+    private final int subscriberBuffer;
+
+    @Autowired
+    public OrderEventPublisher(OrderProps orderProps) {
+        this.sink = Sinks.many().replay().limit(orderProps.getFeedReplaySize());
+        this.subscriberBuffer = orderProps.getFeedSubscriberBuffer();
+    }
+
+    // Synchronized because sinks reject concurrent emissions, the emission itself never waits for subscribers.
+    public synchronized void publish(OrderEvent event) {
+        Sinks.EmitResult result = sink.tryEmitNext(event);
+        if (result.isFailure()) {
+            log.warn("Order {} was not published to the order feed: {}", event.getOrderId(), result);
+        }
+    }
+
+    public void publish(TacoOrder order) {
+        publish(OrderEvent.of(order));
+    }
+
+    public Flux<OrderEvent> events() {
+        return sink.asFlux()
+                   .onBackpressureBuffer(subscriberBuffer,
+                                         dropped -> log.debug("Dropped order event {} for a slow subscriber",
+                                                              dropped.getOrderId()),
+                                         BufferOverflowStrategy.DROP_OLDEST);
+    }
+}
@@ -0,0 +1,87 @@
+package sia.tacocloud.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sia.tacocloud.domain.Taco;
+import sia.tacocloud.domain.TacoOrder;
+import sia.tacocloud.dto.OrderExport;
+import sia.tacocloud.repository.OrderRepository;
+import sia.tacocloud.repository.TacoRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/*
+* Writes every order as newline delimited JSON. Orders come from a database cursor in chunks, the tacos and
+* ingredients of a chunk are fetched with one query each, like OrderHistoryService does for a page. Every chunk is
+* cleared from the persistence context once written, so neither the heap nor the context grows with the table.
+* */
+@Service
+public class OrderExportService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final OrderRepository orderRepository;
+    private final TacoRepository tacoRepository;
+    private final ObjectWriter orderWriter;
+
+    @Autowired
+    public OrderExportService(OrderRepository orderRepository, TacoRepository tacoRepository,
+                              ObjectMapper objectMapper)
+    {
+        this.orderRepository = orderRepository;
+        this.tacoRepository = tacoRepository;
+        this.orderWriter = objectMapper.writerFor(OrderExport.class);
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('SCOPE_readOrders')")
+    @Transactional(readOnly = true)
+    public long exportAsNdjson(OutputStream out) throws IOException {
+        long count = 0;
+        List<TacoOrder> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        try (Stream<TacoOrder> orders = orderRepository.streamAllByOrderById()) {
+            Iterator<TacoOrder> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    count += writeChunk(chunk, out);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) count += writeChunk(chunk, out);
+
+        out.flush();
+        return count;
+    }
+
+    private int writeChunk(List<TacoOrder> chunk, OutputStream out) throws IOException {
+        orderRepository.fetchTacos(chunk);
+        List<Taco> tacos = chunk.stream().flatMap(order -> order.getTacos().stream()).toList();
+        if (!tacos.isEmpty()) tacoRepository.fetchIngredients(tacos);
+
+        for (TacoOrder order : chunk) {
+            out.write(orderWriter.writeValueAsBytes(OrderExport.of(order)));
+            out.write('\n');
+        }
+        out.flush();
+
+        int written = chunk.size();
+        chunk.clear();
+        entityManager.clear();
+        return written;
+    }
+}
@@ -0,0 +1,57 @@
+package sia.tacocloud.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sia.tacocloud.domain.Taco;
+import sia.tacocloud.domain.TacoOrder;
+import sia.tacocloud.domain.User;
+import sia.tacocloud.dto.OrderSummary;
+import sia.tacocloud.repository.OrderRepository;
+import sia.tacocloud.repository.TacoRepository;
+
+import java.util.List;
+
+/*
+* Loads a page of orders for the order list view with its tacos and their ingredients already initialized. Both
+* collections are bags, so they cannot be join fetched together with the paged query, instead every level is
+* fetched with a single query for the whole page: three statements no matter how many orders or tacos there are.
+* The keyset scrolled history of the REST API only shows taco names, it fetches the tacos the same way.
+* */
+@Service
+public class OrderHistoryService {
+
+    private final OrderRepository orderRepository;
+    private final TacoRepository tacoRepository;
+
+    @Autowired
+    public OrderHistoryService(OrderRepository orderRepository, TacoRepository tacoRepository) {
+        this.orderRepository = orderRepository;
+        this.tacoRepository = tacoRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TacoOrder> recentOrders(User user, Pageable pageable) {
+        List<TacoOrder> orders = orderRepository.findByUserOrderByPlacedAtDesc(user, pageable);
+        if (orders.isEmpty()) return orders;
+
+        orderRepository.fetchTacos(orders);
+
+        List<Taco> tacos = orders.stream().flatMap(order -> order.getTacos().stream()).toList();
+        if (!tacos.isEmpty()) tacoRepository.fetchIngredients(tacos);
+
+        return orders;
+    }
+
+    @Transactional(readOnly = true)
+    public Window<OrderSummary> orderHistory(User user, ScrollPosition position, Limit limit) {
+        Window<TacoOrder> orders = orderRepository.findByUserOrderByPlacedAtDescIdDesc(user, position, limit);
+        if (!orders.isEmpty()) orderRepository.fetchTacos(orders.getContent());
+
+        return orders.map(OrderSummary::of);
+    }
+}
@@ -0,0 +1,112 @@
+package sia.tacocloud.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.Taco;
+import sia.tacocloud.domain.TacoOrder;
+import sia.tacocloud.property.OrderProps;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/*
+* Writes large numbers of orders in one transaction. Orders are persisted in chunks: after every chunk the
+* persistence context is flushed, which sends the pending inserts as JDBC batches, and cleared, so memory stays flat
+* no matter how many orders are streamed in.
+* */
+@Slf4j
+@Service
+public class OrderIngestionService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Validator validator;
+    private final OrderProps orderProps;
+
+    @Autowired
+    public OrderIngestionService(Validator validator, OrderProps orderProps) {
+        this.validator = validator;
+        this.orderProps = orderProps;
+    }
+
+    @Transactional
+    public long ingest(Iterator<TacoOrder> orders) {
+        int chunkSize = orderProps.getBatchChunkSize();
+        Set<String> knownIngredientIds = new HashSet<>();
+        long count = 0;
+
+        while (orders.hasNext()) {
+            TacoOrder order = orders.next();
+
+            Set<ConstraintViolation<TacoOrder>> violations = validator.validate(order);
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException("Order #" + count + " is not valid", violations);
+            }
+            checkIngredients(order, count, knownIngredientIds);
+
+            // Orders coming from partners are not placed by a registered user.
+            order.setId(null);
+            order.setVersion(null);
+            order.setUser(null);
+            for (Taco taco : order.getTacos()) {
+                taco.setId(null);
+                taco.setIngredients(ingredientReferences(taco.getIngredients()));
+            }
+
+            entityManager.persist(order);
+
+            if (++count % chunkSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        log.info("Ingested {} orders", count);
+        return count;
+    }
+
+    // An unknown id would only fail the foreign key at the next flush, after rolling back every order before it.
+    // Ids already found are remembered, so a batch reusing the same ingredients checks them only once.
+    private void checkIngredients(TacoOrder order, long index, Set<String> knownIngredientIds) {
+        Set<String> unchecked = new HashSet<>();
+        for (Taco taco : order.getTacos()) {
+            for (Ingredient ingredient : taco.getIngredients()) {
+                if (ingredient == null || ingredient.getId() == null) {
+                    throw new IllegalArgumentException("Order #" + index + " has an ingredient without an id");
+                }
+                if (!knownIngredientIds.contains(ingredient.getId())) unchecked.add(ingredient.getId());
+            }
+        }
+        if (unchecked.isEmpty()) return;
+
+        knownIngredientIds.addAll(entityManager.createQuery("select i.id from Ingredient i where i.id in :ids",
+                                                            String.class)
+                                               .setParameter("ids", unchecked)
+                                               .getResultList());
+        unchecked.removeAll(knownIngredientIds);
+        if (!unchecked.isEmpty()) {
+            throw new IllegalArgumentException("Order #" + index + " references unknown ingredients " + unchecked);
+        }
+    }
+
+    // References avoid loading every ingredient, Hibernate only needs their ids to write the join table rows.
+    private List<Ingredient> ingredientReferences(List<Ingredient> ingredients) {
+        return ingredients.stream()
+                          .map(ingredient -> entityManager.getReference(Ingredient.class, ingredient.getId()))
+                          .toList();
+    }
+}
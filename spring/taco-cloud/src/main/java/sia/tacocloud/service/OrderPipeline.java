@@ -0,0 +1,142 @@
+package sia.tacocloud.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import sia.tacocloud.dto.OrderEvent;
+import sia.tacocloud.property.OrderPipelineProps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/*
+* Everything that happens to an order after it is saved. Placing an order only enqueues an event into a bounded queue,
+* worker threads drain the queue in batches and hand every batch to the stages in order. When the queue is full the
+* submitting thread processes its order itself, which slows callers down instead of losing orders. On shutdown the
+* workers finish whatever is still queued before the application context closes.
+* */
+@Slf4j
+@Service
+public class OrderPipeline implements SmartLifecycle {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final List<OrderStage> stages;
+    private final List<Timer> stageTimers;
+    private final DistributionSummary batchSizes;
+    private final OrderPipelineProps props;
+    private final BlockingQueue<OrderEvent> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    @Autowired
+    public OrderPipeline(List<OrderStage> stages, MeterRegistry meterRegistry, OrderPipelineProps props) {
+        this.stages = stages;
+        this.props = props;
+        this.queue = new ArrayBlockingQueue<>(props.getQueueCapacity());
+
+        this.stageTimers = stages.stream()
+                                 .map(stage -> Timer.builder("taco.orders.pipeline.stage")
+                                                    .tag("stage", stage.name())
+                                                    .register(meterRegistry))
+                                 .toList();
+        this.batchSizes = DistributionSummary.builder("taco.orders.pipeline.batch").register(meterRegistry);
+        Gauge.builder("taco.orders.pipeline.queue", queue, Collection::size).register(meterRegistry);
+    }
+
+    public void submit(OrderEvent order) {
+        if (running && queue.offer(order)) return;
+
+        log.debug("Order pipeline is {}, processing order {} on the caller thread",
+                  running ? "full" : "stopped", order.getOrderId());
+        process(List.of(order));
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+
+        for (int i = 0; i < props.getWorkers(); i++) {
+            workers.add(Thread.ofPlatform().name("order-pipeline-" + i).start(this::work));
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+
+        long deadline = System.nanoTime() + props.getShutdownTimeout().toNanos();
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+
+        // Orders that raced with the shutdown are still processed, just on this thread.
+        List<OrderEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) process(remaining);
+
+        log.info("Order pipeline stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Starts before and stops after the web server, so no request can enqueue into a stopped pipeline.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void work() {
+        List<OrderEvent> batch = new ArrayList<>(props.getBatchSize());
+
+        while (running || !queue.isEmpty()) {
+            OrderEvent first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) continue;
+
+            batch.add(first);
+            queue.drainTo(batch, props.getBatchSize() - 1);
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    private void process(List<OrderEvent> batch) {
+        batchSizes.record(batch.size());
+
+        for (int i = 0; i < stages.size(); i++) {
+            OrderStage stage = stages.get(i);
+            try {
+                stageTimers.get(i).record(() -> stage.process(batch));
+            } catch (RuntimeException e) {
+                // A failing stage must not keep the other stages from seeing the batch or kill the worker.
+                log.error("Order pipeline stage {} failed for {} order(s)", stage.name(), batch.size(), e);
+            }
+        }
+    }
+}
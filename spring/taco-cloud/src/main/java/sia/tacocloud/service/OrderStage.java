@@ -0,0 +1,13 @@
+package sia.tacocloud.service;
+
+import sia.tacocloud.dto.OrderEvent;
+
+import java.util.List;
+
+// One step of the order pipeline, it gets the orders a worker drained from the queue in one go.
+public interface OrderStage {
+
+    String name();
+
+    void process(List<OrderEvent> orders);
+}
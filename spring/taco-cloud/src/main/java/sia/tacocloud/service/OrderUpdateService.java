@@ -0,0 +1,89 @@
+package sia.tacocloud.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sia.tacocloud.domain.TacoOrder;
+import sia.tacocloud.domain.User;
+import sia.tacocloud.repository.OrderRepository;
+
+import java.util.Optional;
+
+/*
+* Replaces and patches orders under optimistic locking. The order is loaded and changed in the same transaction, so
+* Hibernate's dirty checking decides what to write: an update that changes nothing issues no UPDATE at all, and one
+* that does only writes the changed columns. A caller that passes the version it last saw gets an
+* ObjectOptimisticLockingFailureException when somebody else updated the order in between. Only the orders of the
+* given user are found, an order of another user is as missing as one that does not exist.
+* */
+@Service
+public class OrderUpdateService {
+
+    private final OrderRepository orderRepository;
+
+    @Autowired
+    public OrderUpdateService(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    @Transactional
+    public Optional<TacoOrder> replaceOrder(User user, Long orderId, Long expectedVersion, TacoOrder replacement) {
+        return orderRepository.findByIdAndUser(orderId, user).map(current -> {
+            checkVersion(current, expectedVersion);
+
+            replacement.setId(orderId);
+            replacement.setVersion(current.getVersion());
+            replacement.setUser(current.getUser());
+            // The current order is already in the persistence context, merging copies the state onto it.
+            return orderRepository.save(replacement);
+        });
+    }
+
+    @Transactional
+    public Optional<TacoOrder> patchOrder(User user, Long orderId, Long expectedVersion, TacoOrder patch) {
+        return orderRepository.findByIdAndUser(orderId, user).map(order -> {
+            checkVersion(order, expectedVersion);
+
+            if (patch.getDeliveryName() != null) {
+                order.setDeliveryName(patch.getDeliveryName());
+            }
+            if (patch.getDeliveryCity() != null) {
+                order.setDeliveryCity(patch.getDeliveryCity());
+            }
+            if (patch.getDeliveryState() != null) {
+                order.setDeliveryState(patch.getDeliveryState());
+            }
+            if (patch.getDeliveryZip() != null) {
+                order.setDeliveryZip(patch.getDeliveryZip());
+            }
+            if (patch.getCcNumber() != null) {
+                order.setCcNumber(patch.getCcNumber());
+            }
+            if (patch.getCcExpiration() != null) {
+                order.setCcExpiration(patch.getCcExpiration());
+            }
+            if (patch.getCcCVV() != null) {
+                order.setCcCVV(patch.getCcCVV());
+            }
+
+            // Flushed on commit, the version is incremented only when something actually changed.
+            return order;
+        });
+    }
+
+    @Transactional
+    public boolean deleteOrder(User user, Long orderId) {
+        return orderRepository.findByIdAndUser(orderId, user).map(order -> {
+            orderRepository.delete(order);
+            return true;
+        }).orElse(false);
+    }
+
+    // A null expected version means the caller did not ask for a conditional update.
+    private void checkVersion(TacoOrder order, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(TacoOrder.class, order.getId());
+        }
+    }
+}
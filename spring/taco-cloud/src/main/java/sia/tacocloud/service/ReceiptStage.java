@@ -0,0 +1,28 @@
+package sia.tacocloud.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import sia.tacocloud.dto.OrderEvent;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@Order(1)
+public class ReceiptStage implements OrderStage {
+
+    @Override
+    public String name() {
+        return "receipt";
+    }
+
+    @Override
+    public void process(List<OrderEvent> orders) {
+        for (OrderEvent order : orders) {
+            log.info("Receipt for order {} placed {}: {} taco(s) {} delivered to {} {}", order.getOrderId(),
+                     order.getPlacedAt(), order.getTacos().size(), order.getTacos(), order.getDeliveryCity(),
+                     order.getDeliveryZip());
+        }
+    }
+}
@@ -1,14 +1,22 @@
+-- Order and taco ids come from pooled sequences (allocationSize = 50 on the entities) so inserts can be batched.
+CREATE SEQUENCE IF NOT EXISTS taco_order_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS taco_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS Taco_Order (
     id IDENTITY,
     delivery_Name VARCHAR(50) NOT NULL,
     delivery_Street VARCHAR(50) NOT NULL,
     delivery_City VARCHAR(50) NOT NULL,
+    delivery_street_key VARCHAR(50) GENERATED ALWAYS AS (LOWER(delivery_street)),
+    delivery_city_key VARCHAR(50) GENERATED ALWAYS AS (LOWER(delivery_city)),
     delivery_State VARCHAR(2) NOT NULL,
     delivery_Zip VARCHAR(10) NOT NULL,
     cc_number VARCHAR(16) NOT NULL,
     cc_expiration VARCHAR(5) NOT NULL,
     cc_cvv VARCHAR(3) NOT NULL,
-    placed_at TIMESTAMP NOT NULL
+    placed_at TIMESTAMP NOT NULL,
+    user_id BIGINT,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE IF NOT EXISTS Taco (
@@ -33,3 +41,20 @@ CREATE TABLE IF NOT EXISTS Ingredient (
 
 ALTER TABLE Taco ADD FOREIGN KEY (taco_order) REFERENCES Taco_Order(id);
 ALTER TABLE Ingredient_Ref ADD FOREIGN KEY (ingredient) REFERENCES Ingredient(id);
+
+-- Keyset pagination seeks on (created_at, id) and (user_id, placed_at, id), see TacoRepository and OrderRepository.
+CREATE INDEX IF NOT EXISTS ix_taco_created_at_id ON Taco (created_at, id);
+CREATE INDEX IF NOT EXISTS ix_taco_order_user_placed_at_id ON Taco_Order (user_id, placed_at, id);
+
+-- Order analytics group orders by city, zip code or day within a range of days, see OrderRepository. The range
+-- leads, the grouping column rides along so the groups are read from the index.
+CREATE INDEX IF NOT EXISTS ix_taco_order_placed_at_delivery_city ON Taco_Order (placed_at, delivery_city);
+CREATE INDEX IF NOT EXISTS ix_taco_order_placed_at_delivery_zip ON Taco_Order (placed_at, delivery_zip);
+
+-- City and zip code lookups.
+CREATE INDEX IF NOT EXISTS ix_taco_order_delivery_city ON Taco_Order (delivery_city);
+CREATE INDEX IF NOT EXISTS ix_taco_order_delivery_zip_placed_at ON Taco_Order (delivery_zip, placed_at);
+
+-- Case-insensitive street and city lookups match on generated lower-cased copies of the columns. Databases with
+-- expression indexes could index LOWER(delivery_street), LOWER(delivery_city) instead, H2 cannot.
+CREATE INDEX IF NOT EXISTS ix_taco_order_street_city_key ON Taco_Order (delivery_street_key, delivery_city_key);
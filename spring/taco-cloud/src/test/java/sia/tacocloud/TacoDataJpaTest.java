@@ -0,0 +1,44 @@
+package sia.tacocloud;
+
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ContextConfiguration;
+import sia.tacocloud.domain.TacoOrder;
+import sia.tacocloud.repository.OrderRepository;
+import sia.tacocloud.repository.TacoReactiveRepository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+* @DataJpaTest over the entities and the blocking repositories. JPA cannot back TacoReactiveRepository, so it is left
+* out of the repository scan. Tests @Import the services and configuration they need on top.
+* */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@DataJpaTest
+@ContextConfiguration(classes = TacoDataJpaTest.Config.class)
+public @interface TacoDataJpaTest {
+
+    @AliasFor(annotation = DataJpaTest.class)
+    String[] properties() default {};
+
+    @Configuration
+    @EntityScan(basePackageClasses = TacoOrder.class)
+    @EnableJpaRepositories(basePackageClasses = OrderRepository.class,
+                           excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                                                                  classes = TacoReactiveRepository.class))
+    class Config {
+    }
+}
@@ -0,0 +1,34 @@
+package sia.tacocloud;
+
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.Taco;
+import sia.tacocloud.domain.TacoOrder;
+
+import java.util.List;
+
+// Valid orders and tacos for tests, callers override the fields they care about.
+public final class TestOrders {
+
+    private TestOrders() {
+    }
+
+    public static TacoOrder order(String deliveryName) {
+        TacoOrder order = new TacoOrder();
+        order.setDeliveryName(deliveryName);
+        order.setDeliveryStreet("Street");
+        order.setDeliveryCity("City");
+        order.setDeliveryState("ST");
+        order.setDeliveryZip("12345");
+        order.setCcNumber("4111111111111111");
+        order.setCcExpiration("12/29");
+        order.setCcCVV("123");
+        return order;
+    }
+
+    public static Taco taco(String name, Ingredient... ingredients) {
+        Taco taco = new Taco();
+        taco.setName(name);
+        taco.setIngredients(List.of(ingredients));
+        return taco;
+    }
+}
@@ -0,0 +1,79 @@
+package sia.tacocloud.configuration;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import sia.tacocloud.TacoDataJpaTest;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.repository.IngredientRepository;
+import sia.tacocloud.repository.OrderRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TacoDataJpaTest
+@Import({MetricsConfig.class, RepositoryRowCountPostProcessorTest.MeterRegistryConfig.class})
+public class RepositoryRowCountPostProcessorTest {
+
+    @TestConfiguration
+    static class MeterRegistryConfig {
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void shouldRecordTheRowsEveryRepositoryMethodReturns() {
+        ingredientRepository.saveAll(List.of(new Ingredient("FLTO", "Flour Tortilla", Ingredient.Type.WRAP),
+                                             new Ingredient("COTO", "Corn Tortilla", Ingredient.Type.WRAP),
+                                             new Ingredient("GRBF", "Ground Beef", Ingredient.Type.PROTEIN)));
+
+        ingredientRepository.findAll();
+        ingredientRepository.findById("FLTO");
+        ingredientRepository.findById("NONE");
+        ingredientRepository.count();
+        ingredientRepository.save(new Ingredient("CARN", "Carnitas", Ingredient.Type.PROTEIN));
+        ingredientRepository.deleteById("CARN");
+        orderRepository.findByDeliveryZip("12345");
+
+        DistributionSummary findAll = rows("IngredientRepository", "findAll");
+        assertThat(findAll.count()).isEqualTo(1);
+        assertThat(findAll.totalAmount()).isEqualTo(3);
+
+        DistributionSummary findById = rows("IngredientRepository", "findById");
+        assertThat(findById.count()).isEqualTo(2);
+        assertThat(findById.totalAmount()).isEqualTo(1);
+
+        assertThat(rows("OrderRepository", "findByDeliveryZip").totalAmount()).isZero();
+        assertThat(meterRegistry.find(RepositoryRowCountPostProcessor.METRIC_NAME).tag("method", "count")
+                                .summary()).isNull();
+        assertThat(meterRegistry.find(RepositoryRowCountPostProcessor.METRIC_NAME).tag("method", "saveAll")
+                                .summary()).isNull();
+        assertThat(meterRegistry.find(RepositoryRowCountPostProcessor.METRIC_NAME).tag("method", "save")
+                                .summary()).isNull();
+    }
+
+    private DistributionSummary rows(String repository, String method) {
+        return meterRegistry.get(RepositoryRowCountPostProcessor.METRIC_NAME)
+                            .tag("repository", repository)
+                            .tag("method", method)
+                            .summary();
+    }
+}
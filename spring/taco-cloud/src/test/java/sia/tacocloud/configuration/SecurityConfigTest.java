@@ -0,0 +1,82 @@
+package sia.tacocloud.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import sia.tacocloud.domain.User;
+import sia.tacocloud.property.SecurityProps;
+import sia.tacocloud.repository.UserRepository;
+import sia.tacocloud.service.CaffeineUserCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SecurityConfigTest {
+
+    private final SecurityConfig securityConfig = new SecurityConfig();
+
+    @Test
+    public void shouldLoadAUserOnlyOnceForRepeatedAuthentications() {
+        SecurityProps securityProps = securityProps(4);
+        PasswordEncoder passwordEncoder = securityConfig.passwordEncoder(securityProps);
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        when(userRepository.findByUsername("taco")).thenReturn(testUser(passwordEncoder.encode("password")));
+
+        DaoAuthenticationProvider authenticationProvider = authenticationProvider(securityProps, passwordEncoder,
+                                                                                  userRepository);
+        for (int i = 0; i < 5; i++) {
+            authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken("taco", "password"));
+        }
+
+        verify(userRepository, times(1)).findByUsername("taco");
+    }
+
+    @Test
+    public void shouldUpgradeWeakerPasswordHashesOnLogin() {
+        SecurityProps securityProps = securityProps(6);
+        PasswordEncoder passwordEncoder = securityConfig.passwordEncoder(securityProps);
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        // Stored by the plain BCryptPasswordEncoder used before, without an encoder id prefix.
+        when(userRepository.findByUsername("taco")).thenReturn(
+                testUser(new BCryptPasswordEncoder(4).encode("password")));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        authenticationProvider(securityProps, passwordEncoder, userRepository)
+                .authenticate(new UsernamePasswordAuthenticationToken("taco", "password"));
+
+        ArgumentCaptor<User> savedUser = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(savedUser.capture());
+        assertThat(savedUser.getValue().getPassword()).startsWith("{bcrypt}$2a$06$");
+        assertThat(passwordEncoder.matches("password", savedUser.getValue().getPassword())).isTrue();
+    }
+
+    private DaoAuthenticationProvider authenticationProvider(SecurityProps securityProps,
+                                                             PasswordEncoder passwordEncoder,
+                                                             UserRepository userRepository)
+    {
+        CaffeineUserCache userCache = new CaffeineUserCache(securityProps);
+        return securityConfig.authenticationProvider(securityConfig.userDetailsService(userRepository),
+                                                     passwordEncoder, userCache,
+                                                     securityConfig.userDetailsPasswordService(userRepository,
+                                                                                               userCache));
+    }
+
+    private SecurityProps securityProps(int bcryptStrength) {
+        SecurityProps securityProps = new SecurityProps();
+        securityProps.setBcryptStrength(bcryptStrength);
+        return securityProps;
+    }
+
+    private User testUser(String password) {
+        User user = new User("taco", password, "Taco User", "Street", "City", "ST", "12345", "555-1234");
+        user.setId(1L);
+        return user;
+    }
+}
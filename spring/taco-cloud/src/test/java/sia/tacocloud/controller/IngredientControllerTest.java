@@ -0,0 +1,96 @@
+package sia.tacocloud.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.Ingredient.Type;
+import sia.tacocloud.property.IngredientProps;
+import sia.tacocloud.repository.IngredientRepository;
+import sia.tacocloud.repository.TacoRepository;
+import sia.tacocloud.service.IngredientCatalogService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class IngredientControllerTest {
+
+    private final List<Ingredient> ingredients = List.of(
+            new Ingredient("FLTO", "Flour Tortilla", Type.WRAP),
+            new Ingredient("COTO", "Corn Tortilla", Type.WRAP),
+            new Ingredient("GRBF", "Ground Beef", Type.PROTEIN),
+            new Ingredient("CARN", "Carnitas", Type.PROTEIN),
+            new Ingredient("TMTO", "Diced Tomatoes", Type.VEGGIES),
+            new Ingredient("LETC", "Lettuce", Type.VEGGIES),
+            new Ingredient("CHED", "Cheddar", Type.CHEESE),
+            new Ingredient("JACK", "Monterrey Jack", Type.CHEESE),
+            new Ingredient("SLSA", "Salsa", Type.SAUCE),
+            new Ingredient("SRCR", "Sour Cream", Type.SAUCE));
+
+    private IngredientRepository ingredientRepository;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        ingredientRepository = Mockito.mock(IngredientRepository.class);
+        when(ingredientRepository.findAll()).thenReturn(ingredients);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new IngredientController(ingredientRepository, Mockito.mock(TacoRepository.class),
+                                         new IngredientCatalogService(ingredientRepository), new IngredientProps()))
+                                 .build();
+    }
+
+    @Test
+    public void shouldSkipTheCatalogBodyWhileTheClientCopyIsCurrent() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/ingredients"))
+                                 .andExpect(status().isOk())
+                                 .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"))
+                                 .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        long bytesWithoutETag = 0;
+        long bytesWithETag = 0;
+        for (int i = 0; i < 10; i++) {
+            bytesWithoutETag += mockMvc.perform(get("/api/ingredients"))
+                                       .andReturn().getResponse().getContentAsByteArray().length;
+            bytesWithETag += mockMvc.perform(get("/api/ingredients").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                                    .andExpect(status().isNotModified())
+                                    .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                                    .andReturn().getResponse().getContentAsByteArray().length;
+        }
+
+        assertThat(bytesWithoutETag).isEqualTo(10L * first.getResponse().getContentAsByteArray().length);
+        assertThat(bytesWithETag).isZero();
+        verify(ingredientRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void shouldHandOutANewETagAfterAWrite() throws Exception {
+        String eTag = mockMvc.perform(get("/api/ingredients/FLTO"))
+                             .andExpect(status().isOk())
+                             .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/api/ingredients").contentType(MediaType.APPLICATION_JSON)
+                                                .content("{\"id\":\"PNTO\",\"name\":\"Pinto Beans\",\"type\":\"PROTEIN\"}"))
+               .andExpect(status().isCreated());
+
+        String newETag = mockMvc.perform(get("/api/ingredients/FLTO").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newETag).isNotEqualTo(eTag);
+    }
+}
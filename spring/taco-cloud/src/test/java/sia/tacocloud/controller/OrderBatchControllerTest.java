@@ -0,0 +1,58 @@
+package sia.tacocloud.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import sia.tacocloud.domain.TacoOrder;
+import sia.tacocloud.service.OrderExportService;
+import sia.tacocloud.service.OrderIngestionService;
+
+import java.util.Iterator;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class OrderBatchControllerTest {
+
+    private OrderIngestionService orderIngestionService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        orderIngestionService = Mockito.mock(OrderIngestionService.class);
+        // Orders are parsed lazily, so the mock has to drain the iterator for parse errors to surface
+        when(orderIngestionService.ingest(any())).thenAnswer(invocation -> {
+            Iterator<TacoOrder> orders = invocation.getArgument(0);
+            long count = 0;
+            for (; orders.hasNext(); orders.next()) count++;
+            return count;
+        });
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new OrderBatchController(orderIngestionService, Mockito.mock(OrderExportService.class),
+                                         new ObjectMapper().findAndRegisterModules()))
+                                 .build();
+    }
+
+    @Test
+    public void shouldRejectMalformedNdjson() throws Exception {
+        mockMvc.perform(post("/api/orders/batch").contentType("application/x-ndjson")
+                                                 .content("{\"deliveryName\":\"Partner\"}\n{\"deliveryName\":"))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void shouldRejectUnknownIngredients() throws Exception {
+        doThrow(new IllegalArgumentException("Order #0 references unknown ingredients [XXXX]"))
+                .when(orderIngestionService).ingest(any());
+
+        mockMvc.perform(post("/api/orders/batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+               .andExpect(status().isBadRequest());
+    }
+}
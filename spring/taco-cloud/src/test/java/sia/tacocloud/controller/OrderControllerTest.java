@@ -0,0 +1,127 @@
+package sia.tacocloud.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import sia.tacocloud.domain.TacoOrder;
+import sia.tacocloud.domain.User;
+import sia.tacocloud.property.OrderProps;
+import sia.tacocloud.repository.OrderRepository;
+import sia.tacocloud.service.OrderHistoryService;
+import sia.tacocloud.service.OrderPipeline;
+import sia.tacocloud.service.OrderUpdateService;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class OrderControllerTest {
+
+    private OrderRepository orderRepository;
+    private OrderUpdateService orderUpdateService;
+    private MockMvc mockMvc;
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        // The signed in customer, resolved for @AuthenticationPrincipal like the security filters would.
+        user = new User("taco", "password", "Taco User", "Street", "City", "ST", "12345", "555-1234");
+        user.setId(1L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        orderRepository = Mockito.mock(OrderRepository.class);
+        orderUpdateService = Mockito.mock(OrderUpdateService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new OrderController(orderRepository, Mockito.mock(OrderHistoryService.class),
+                                    Mockito.mock(OrderPipeline.class), orderUpdateService, new OrderProps()))
+                                 .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                                 .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedWhileTheVersionIsUnchanged() throws Exception {
+        when(orderRepository.findByIdAndUser(1L, user)).thenReturn(Optional.of(order(1L, 3L)));
+
+        mockMvc.perform(get("/orders/1"))
+               .andExpect(status().isOk())
+               .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+               .andExpect(jsonPath("$.ccNumber").doesNotExist())
+               .andExpect(jsonPath("$.user").doesNotExist());
+
+        mockMvc.perform(get("/orders/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+               .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void shouldNotFindTheOrdersOfOtherUsers() throws Exception {
+        when(orderRepository.findByIdAndUser(2L, user)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/orders/2"))
+               .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/orders/2"))
+               .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void shouldPatchWithTheVersionFromIfMatch() throws Exception {
+        when(orderUpdateService.patchOrder(eq(user), eq(1L), eq(3L), any())).thenReturn(Optional.of(order(1L, 4L)));
+
+        mockMvc.perform(patch("/orders/1").header(HttpHeaders.IF_MATCH, "\"3\"")
+                                          .contentType(MediaType.APPLICATION_JSON)
+                                          .content("{\"deliveryZip\":\"54321\"}"))
+               .andExpect(status().isOk())
+               .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    public void shouldFailThePreconditionOfAConflictingWrite() throws Exception {
+        when(orderUpdateService.patchOrder(eq(user), eq(1L), eq(2L), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(TacoOrder.class, 1L));
+
+        mockMvc.perform(patch("/orders/1").header(HttpHeaders.IF_MATCH, "\"2\"")
+                                          .contentType(MediaType.APPLICATION_JSON)
+                                          .content("{\"deliveryZip\":\"54321\"}"))
+               .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    public void shouldRejectIfMatchHeadersThatNameNoVersion() throws Exception {
+        mockMvc.perform(patch("/orders/1").header(HttpHeaders.IF_MATCH, "W/\"2\"")
+                                          .contentType(MediaType.APPLICATION_JSON)
+                                          .content("{\"deliveryZip\":\"54321\"}"))
+               .andExpect(status().isPreconditionFailed());
+
+        verifyNoInteractions(orderUpdateService);
+    }
+
+    private TacoOrder order(Long id, Long version) {
+        TacoOrder order = new TacoOrder();
+        order.setId(id);
+        order.setVersion(version);
+        return order;
+    }
+}
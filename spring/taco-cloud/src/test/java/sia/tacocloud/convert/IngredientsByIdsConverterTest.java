@@ -0,0 +1,84 @@
+package sia.tacocloud.convert;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.Ingredient.Type;
+import sia.tacocloud.repository.IngredientRepository;
+import sia.tacocloud.service.IngredientCatalogService;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IngredientsByIdsConverterTest {
+
+    private static final TypeDescriptor INGREDIENT_LIST =
+            TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Ingredient.class));
+
+    private final List<Ingredient> ingredients = List.of(
+            new Ingredient("FLTO", "Flour Tortilla", Type.WRAP),
+            new Ingredient("GRBF", "Ground Beef", Type.PROTEIN),
+            new Ingredient("CARN", "Carnitas", Type.PROTEIN),
+            new Ingredient("SRCR", "Sour Cream", Type.SAUCE),
+            new Ingredient("SLSA", "Salsa", Type.SAUCE),
+            new Ingredient("CHED", "Cheddar", Type.CHEESE));
+
+    private IngredientRepository ingredientRepository;
+    private DefaultConversionService conversionService;
+
+    @BeforeEach
+    public void setUp() {
+        ingredientRepository = Mockito.mock(IngredientRepository.class);
+        conversionService = new DefaultConversionService();
+        conversionService.addConverter(
+                new IngredientsByIdsConverter(new IngredientCatalogService(ingredientRepository)));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void shouldResolveAllIngredientsOfATacoWithOneQuery() {
+        when(ingredientRepository.findAll()).thenReturn(ingredients);
+        String[] ids = {"FLTO", "GRBF", "CARN", "SRCR", "SLSA", "CHED"};
+
+        Object converted = conversionService.convert(ids, TypeDescriptor.forObject(ids), INGREDIENT_LIST);
+        conversionService.convert(ids, TypeDescriptor.forObject(ids), INGREDIENT_LIST);
+
+        assertThat(converted).isEqualTo(ingredients);
+        assertThat(Mockito.mockingDetails(ingredientRepository).getInvocations()).hasSize(1);
+        verify(ingredientRepository, never()).findById(any());
+    }
+
+    @Test
+    public void shouldLookUpIdsMissingFromTheCatalogInOneBatch() {
+        Ingredient jack = new Ingredient("JACK", "Monterrey Jack", Type.CHEESE);
+        Ingredient lettuce = new Ingredient("LETC", "Lettuce", Type.VEGGIES);
+        when(ingredientRepository.findAll()).thenReturn(ingredients);
+        when(ingredientRepository.findAllById(any())).thenReturn(List.of(jack, lettuce));
+        String[] ids = {"FLTO", "JACK", "LETC"};
+
+        Object converted = conversionService.convert(ids, TypeDescriptor.forObject(ids), INGREDIENT_LIST);
+
+        assertThat(converted).isEqualTo(List.of(ingredients.get(0), jack, lettuce));
+        assertThat(Mockito.mockingDetails(ingredientRepository).getInvocations()).hasSize(2);
+        verify(ingredientRepository).findAllById(Set.of("JACK", "LETC"));
+    }
+}
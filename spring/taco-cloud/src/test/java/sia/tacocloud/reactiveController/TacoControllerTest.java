@@ -2,6 +2,7 @@ package sia.tacocloud.reactiveController;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
@@ -14,6 +15,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class TacoControllerTest {
@@ -30,11 +33,11 @@ public class TacoControllerTest {
                 testTaco(13L), testTaco(14L),
                 testTaco(15L), testTaco(16L)
         };
-        Flux<Taco> tacoFlux = Flux.just(tacos);
 
-        // Mocks the taco repository
+        // Mocks the taco repository, the limit is applied the way the database applies it
         TacoReactiveRepository tacoReactiveRepository = Mockito.mock(TacoReactiveRepository.class);
-        when(tacoReactiveRepository.findAll()).thenReturn(tacoFlux);
+        when(tacoReactiveRepository.findByOrderByCreatedAtDesc(any(Limit.class)))
+                .thenAnswer(invocation -> Flux.just(tacos).take(invocation.<Limit>getArgument(0).max()));
 
         // Creates a WebTestClient
         WebTestClient testClient = WebTestClient.bindToController(new TacoController(tacoReactiveRepository)).build();
@@ -51,6 +54,28 @@ public class TacoControllerTest {
                   .jsonPath("$[11].id").isEqualTo(tacos[11].getId().toString())
                   .jsonPath("$[11].name").isEqualTo("Taco 12")
                   .jsonPath("$[12]").doesNotExist();
+
+        // Verifies the limit is passed down to the query instead of loading every taco
+        verify(tacoReactiveRepository).findByOrderByCreatedAtDesc(Limit.of(12));
+        verify(tacoReactiveRepository, never()).findAll();
+    }
+
+    @Test
+    public void shouldStreamRecentTacosAsNdjson() {
+        Taco[] tacos = {testTaco(1L), testTaco(2L), testTaco(3L), testTaco(4L)};
+
+        TacoReactiveRepository tacoReactiveRepository = Mockito.mock(TacoReactiveRepository.class);
+        when(tacoReactiveRepository.findByOrderByCreatedAtDesc(Limit.of(3))).thenReturn(Flux.just(tacos).take(3));
+
+        WebTestClient testClient = WebTestClient.bindToController(new TacoController(tacoReactiveRepository)).build();
+
+        testClient.get().uri("/api/reactive/tacosControllers?recent&limit=3")
+                  .accept(MediaType.APPLICATION_NDJSON)
+                  .exchange()
+                  .expectStatus().isOk()
+                  .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                  .expectBodyList(Taco.class)
+                  .hasSize(3);
     }
 
     @SuppressWarnings("unchecked")
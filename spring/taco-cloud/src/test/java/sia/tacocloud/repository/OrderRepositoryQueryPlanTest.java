@@ -0,0 +1,151 @@
+package sia.tacocloud.repository;
+
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import sia.tacocloud.TacoDataJpaTest;
+import sia.tacocloud.TestOrders;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.Taco;
+import sia.tacocloud.domain.TacoOrder;
+import sia.tacocloud.domain.User;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+* Runs every OrderRepository query, captures the SQL Hibernate sends and asks H2 for its plan. H2 marks a full table
+* scan with "tableScan" in the plan, any query whose plan contains one is missing an index.
+* */
+@TacoDataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                          "sia.tacocloud.repository.OrderRepositoryQueryPlanTest$CapturingInspector")
+public class OrderRepositoryQueryPlanTest {
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        Ingredient flourTortilla = entityManager.persist(new Ingredient("FLTO", "Flour Tortilla", Ingredient.Type.WRAP));
+        user = entityManager.persist(new User("taco", "password", "Taco Lover", "Street", "City", "ST", "12345",
+                                              "555-555-5555"));
+
+        for (int i = 0; i < 200; i++) {
+            TacoOrder order = TestOrders.order("Customer " + i);
+            order.setPlacedAt(DAY.plusDays(i % 20));
+            order.setDeliveryStreet("Street " + i);
+            order.setDeliveryCity("City " + i % 40);
+            order.setDeliveryZip(String.valueOf(10000 + i % 50));
+            if (i % 10 == 0) order.setUser(user);
+            order.addTaco(TestOrders.taco("Customer taco", flourTortilla));
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void findByDeliveryZipShouldUseAnIndex() {
+        assertNoTableScan(() -> orderRepository.findByDeliveryZip("10001"));
+    }
+
+    @Test
+    public void readOrdersByDeliveryZipAndPlacedAtBetweenShouldUseAnIndex() {
+        assertNoTableScan(() -> orderRepository.readOrdersByDeliveryZipAndPlacedAtBetween("10001", DAY,
+                                                                                          DAY.plusDays(5)));
+    }
+
+    @Test
+    public void findByDeliveryStreetAndDeliveryCityAllIgnoreCaseShouldUseAnIndex() {
+        List<TacoOrder> orders = assertNoTableScan(
+                () -> orderRepository.findByDeliveryStreetAndDeliveryCityAllIgnoreCase("STREET 1", "city 1"));
+
+        assertThat(orders).extracting(TacoOrder::getDeliveryStreet).containsExactly("Street 1");
+    }
+
+    @Test
+    public void findByDeliveryCityOrderByDeliveryCityShouldUseAnIndex() {
+        assertNoTableScan(() -> orderRepository.findByDeliveryCityOrderByDeliveryCity("City 1"));
+    }
+
+    @Test
+    public void findByUserOrderByPlacedAtDescShouldUseAnIndex() {
+        assertNoTableScan(() -> orderRepository.findByUserOrderByPlacedAtDesc(user, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    public void readOrdersDeliveredInSeattleShouldUseAnIndex() {
+        assertNoTableScan(() -> orderRepository.readOrdersDeliveredInSeattle());
+    }
+
+    @Test
+    public void sumVolumeByDeliveryCityShouldUseAnIndex() {
+        assertNoTableScan(() -> orderRepository.sumVolumeByDeliveryCity(DAY, DAY.plusDays(5)));
+    }
+
+    @Test
+    public void sumVolumeByDeliveryZipShouldUseAnIndex() {
+        assertNoTableScan(() -> orderRepository.sumVolumeByDeliveryZip(DAY, DAY.plusDays(5)));
+    }
+
+    @Test
+    public void sumVolumeByDayShouldUseAnIndex() {
+        assertNoTableScan(() -> orderRepository.sumVolumeByDay(DAY, DAY.plusDays(5)));
+    }
+
+    private <T> List<T> assertNoTableScan(QueryCall<T> query) {
+        CapturingInspector.STATEMENTS.clear();
+        List<T> results = query.call();
+        List<String> statements = List.copyOf(CapturingInspector.STATEMENTS);
+
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertThat(plan).as("Plan of %s", sql).doesNotContain("tableScan");
+        }
+        return results;
+    }
+
+    // H2 can explain a statement with unbound parameters, the plan does not depend on their values.
+    private String explain(String sql) {
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+                StringBuilder text = new StringBuilder();
+                while (plan.next()) text.append(plan.getString(1)).append('\n');
+                return text.toString();
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface QueryCall<T> {
+        List<T> call();
+    }
+}
@@ -0,0 +1,85 @@
+package sia.tacocloud.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import sia.tacocloud.TacoDataJpaTest;
+import sia.tacocloud.TestOrders;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.TacoOrder;
+import sia.tacocloud.dto.OrderVolume;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@TacoDataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class OrderRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Ingredient flourTortilla;
+
+    @BeforeEach
+    public void setUp() {
+        flourTortilla = entityManager.persist(new Ingredient("FLTO", "Flour Tortilla", Ingredient.Type.WRAP));
+
+        saveOrder("Seattle", "98101", DAY, 2);
+        saveOrder("Seattle", "98101", DAY, 1);
+        saveOrder("Seattle", "98109", DAY.plusDays(1), 3);
+        saveOrder("Dallas", "75201", DAY.plusDays(1), 1);
+        // Outside of the queried range.
+        saveOrder("Dallas", "75201", DAY.plusDays(10), 4);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void shouldGroupOrderVolumesInOneQueryWithoutLoadingOrders() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<OrderVolume<String>> cities = orderRepository.sumVolumeByDeliveryCity(DAY, DAY.plusDays(1));
+
+        assertThat(cities).extracting(OrderVolume::getKey, OrderVolume::getOrders, OrderVolume::getTacos)
+                          .containsExactly(tuple("Seattle", 3L, 6L), tuple("Dallas", 1L, 1L));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    public void shouldGroupOrderVolumesByZipAndDay() {
+        assertThat(orderRepository.sumVolumeByDeliveryZip(DAY, DAY.plusDays(1)))
+                .extracting(OrderVolume::getKey, OrderVolume::getOrders, OrderVolume::getTacos)
+                .containsExactly(tuple("98101", 2L, 3L), tuple("75201", 1L, 1L), tuple("98109", 1L, 3L));
+
+        assertThat(orderRepository.sumVolumeByDay(DAY, DAY.plusDays(10)))
+                .extracting(OrderVolume::getKey, OrderVolume::getOrders, OrderVolume::getTacos)
+                .containsExactly(tuple(DAY, 2L, 3L), tuple(DAY.plusDays(1), 2L, 4L), tuple(DAY.plusDays(10), 1L, 4L));
+    }
+
+    private void saveOrder(String city, String zip, LocalDate placedAt, int tacos) {
+        TacoOrder order = TestOrders.order("Customer");
+        order.setPlacedAt(placedAt);
+        order.setDeliveryCity(city);
+        order.setDeliveryZip(zip);
+        for (int i = 0; i < tacos; i++) order.addTaco(TestOrders.taco("Customer taco", flourTortilla));
+        entityManager.persist(order);
+    }
+}
@@ -0,0 +1,96 @@
+package sia.tacocloud.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import sia.tacocloud.configuration.HibernateCacheConfig;
+import sia.tacocloud.TacoDataJpaTest;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs without the test transaction, the second-level cache is only filled and read across transactions.
+@TacoDataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(HibernateCacheConfig.class)
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // Nothing is rolled back, other tests share the embedded database.
+    @AfterEach
+    public void tearDown() {
+        ingredientRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldReadIngredientsFromTheCacheAfterTheFirstLoad() {
+        ingredientRepository.save(new Ingredient("CHED", "Cheddar", Ingredient.Type.CHEESE));
+        entityManagerFactory.getCache().evict(Ingredient.class);
+        statistics.clear();
+
+        ingredientRepository.findById("CHED");
+        ingredientRepository.findById("CHED");
+
+        assertThat(statistics.getDomainDataRegionStatistics("ingredients").getMissCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("ingredients").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        ingredientRepository.save(new Ingredient("CHED", "Monterrey Jack", Ingredient.Type.CHEESE));
+        assertThat(ingredientRepository.findById("CHED")).get()
+                                                         .extracting(Ingredient::getName)
+                                                         .isEqualTo("Monterrey Jack");
+    }
+
+    @Test
+    public void shouldAnswerRepeatedUsernameLookupsWithoutTheDatabase() {
+        userRepository.save(new User("cached", "password", "Cached User", "Street", "City", "ST", "12345",
+                                     "555-555-5555"));
+        statistics.clear();
+
+        User first = userRepository.findByUsername("cached");
+        long statements = statistics.getPrepareStatementCount();
+        User second = userRepository.findByUsername("cached");
+
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldSeeAnUpdatedUserThroughTheQueryCache() {
+        User user = userRepository.save(new User("upgraded", "password", "Upgraded User", "Street", "City", "ST",
+                                                 "12345", "555-555-5555"));
+        userRepository.findByUsername("upgraded");
+
+        User upgraded = new User("upgraded", "{bcrypt}rehashed", "Upgraded User", "Street", "City", "ST", "12345",
+                                 "555-555-5555");
+        upgraded.setId(user.getId());
+        userRepository.save(upgraded);
+
+        assertThat(userRepository.findByUsername("upgraded").getPassword()).isEqualTo("{bcrypt}rehashed");
+    }
+}
@@ -0,0 +1,58 @@
+package sia.tacocloud.repository;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import sia.tacocloud.domain.Taco;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * The application has no reactive store of its own yet, so the derived query runs
+ * against an in-memory H2 over R2DBC. The ingredients column only exists because the
+ * mapping selects it, the query under test never reads it.
+ */
+public class TacoReactiveRepositoryTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    private TacoReactiveRepository tacoReactiveRepository;
+
+    @BeforeEach
+    public void setUp() {
+        ConnectionFactory connectionFactory =
+                ConnectionFactories.get("r2dbc:h2:mem:///reactive-tacos-" + System.nanoTime() + "?options=DB_CLOSE_DELAY=-1");
+        DatabaseClient client = DatabaseClient.create(connectionFactory);
+        client.sql("CREATE TABLE taco (id BIGINT PRIMARY KEY, name VARCHAR(50), created_at DATE, ingredients VARCHAR(4) ARRAY)")
+              .then()
+              .thenMany(Flux.range(1, 16).concatMap(i -> client
+                      .sql("INSERT INTO taco (id, name, created_at) VALUES (:id, :name, :createdAt)")
+                      .bind("id", (long) i)
+                      .bind("name", "Taco " + i)
+                      .bind("createdAt", FIRST_DAY.plusDays(i))
+                      .then()))
+              .blockLast();
+
+        tacoReactiveRepository = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(connectionFactory))
+                .getRepository(TacoReactiveRepository.class);
+    }
+
+    @Test
+    public void shouldReturnOnlyTheNewestTacos() {
+        StepVerifier.create(tacoReactiveRepository.findByOrderByCreatedAtDesc(Limit.of(12))
+                                                  .map(Taco::getId)
+                                                  .collectList())
+                    .assertNext(ids -> assertThat(ids).containsExactly(16L, 15L, 14L, 13L, 12L, 11L,
+                                                                       10L, 9L, 8L, 7L, 6L, 5L))
+                    .verifyComplete();
+    }
+}
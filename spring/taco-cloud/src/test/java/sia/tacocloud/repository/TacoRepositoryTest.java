@@ -0,0 +1,73 @@
+package sia.tacocloud.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import sia.tacocloud.convert.ScrollPositionTokens;
+import sia.tacocloud.TacoDataJpaTest;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.Taco;
+import sia.tacocloud.dto.CursorPage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TacoDataJpaTest
+public class TacoRepositoryTest {
+
+    @Autowired
+    private TacoRepository tacoRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    private final List<Taco> savedTacos = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        Ingredient flourTortilla = ingredientRepository.save(
+                new Ingredient("FLTO", "Flour Tortilla", Ingredient.Type.WRAP));
+
+        // Several tacos share the same day, so the id has to break the ties between them.
+        for (int i = 0; i < 30; i++) {
+            Taco taco = new Taco();
+            taco.setName("Taco number " + i);
+            taco.setCreatedAt(LocalDate.of(2024, 1, 1).plusDays(i / 4));
+            taco.setIngredients(List.of(flourTortilla));
+            savedTacos.add(tacoRepository.save(taco));
+        }
+    }
+
+    @Test
+    public void shouldScrollThroughRecentTacosWithContinuationTokens() {
+        List<Taco> scrolled = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+
+        do {
+            ScrollPosition position = ScrollPositionTokens.decode(token);
+            Window<Taco> window = tacoRepository.findByOrderByCreatedAtDescIdDesc(position, Limit.of(12));
+            CursorPage<Taco> page = CursorPage.of(window);
+
+            scrolled.addAll(page.getContent());
+            token = page.getNext();
+            pages++;
+        } while (token != null);
+
+        List<Long> expectedIds = savedTacos.stream()
+                                           .sorted((a, b) -> b.getCreatedAt().equals(a.getCreatedAt())
+                                                             ? b.getId().compareTo(a.getId())
+                                                             : b.getCreatedAt().compareTo(a.getCreatedAt()))
+                                           .map(Taco::getId)
+                                           .toList();
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(scrolled).extracting(Taco::getId).containsExactlyElementsOf(expectedIds);
+    }
+}
@@ -0,0 +1,157 @@
+package sia.tacocloud.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.DefaultOAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.server.resource.introspection.BadOpaqueTokenException;
+import org.springframework.security.oauth2.server.resource.introspection.OAuth2IntrospectionException;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+import sia.tacocloud.property.ResourceServerProps;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CachingOpaqueTokenIntrospectorTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-03-01T10:00:00Z"));
+    private final AtomicInteger introspections = new AtomicInteger();
+
+    @Test
+    public void shouldAskTheAuthServerOnlyOncePerToken() {
+        CachingOpaqueTokenIntrospector introspector = introspector(
+                activeUntil(clock.instant().plus(Duration.ofMinutes(30))));
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(introspector.introspect("token").getName()).isEqualTo("taco");
+        }
+
+        assertThat(introspections).hasValue(1);
+    }
+
+    @Test
+    public void shouldAskAgainOnceTheCacheTtlPassed() {
+        CachingOpaqueTokenIntrospector introspector = introspector(
+                activeUntil(clock.instant().plus(Duration.ofMinutes(30))));
+
+        introspector.introspect("token");
+        clock.advance(Duration.ofMinutes(1));
+        introspector.introspect("token");
+
+        assertThat(introspections).hasValue(2);
+    }
+
+    @Test
+    public void shouldNotTrustATokenPastItsExpiry() {
+        Instant expiresAt = clock.instant().plus(Duration.ofSeconds(20));
+        CachingOpaqueTokenIntrospector introspector = introspector(token -> {
+            introspections.incrementAndGet();
+            if (clock.instant().isBefore(expiresAt)) return principal(expiresAt);
+            throw new BadOpaqueTokenException("Provided token isn't active");
+        });
+
+        introspector.introspect("token");
+        clock.advance(Duration.ofSeconds(20));
+
+        assertThatThrownBy(() -> introspector.introspect("token")).isInstanceOf(BadOpaqueTokenException.class);
+        assertThat(introspections).hasValue(2);
+    }
+
+    @Test
+    public void shouldRememberInactiveTokensBriefly() {
+        CachingOpaqueTokenIntrospector introspector = introspector(token -> {
+            introspections.incrementAndGet();
+            throw new BadOpaqueTokenException("Provided token isn't active");
+        });
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> introspector.introspect("forged")).isInstanceOf(BadOpaqueTokenException.class);
+        }
+        clock.advance(Duration.ofSeconds(10));
+        assertThatThrownBy(() -> introspector.introspect("forged")).isInstanceOf(BadOpaqueTokenException.class);
+
+        assertThat(introspections).hasValue(2);
+    }
+
+    @Test
+    public void shouldAskAgainOnceARevokedTokenIsEvicted() {
+        CachingOpaqueTokenIntrospector introspector = introspector(token -> {
+            if (introspections.incrementAndGet() == 1) return principal(clock.instant().plus(Duration.ofMinutes(30)));
+            throw new BadOpaqueTokenException("Provided token isn't active");
+        });
+        introspector.introspect("token");
+
+        introspector.evict("token");
+
+        assertThatThrownBy(() -> introspector.introspect("token")).isInstanceOf(BadOpaqueTokenException.class);
+        assertThat(introspections).hasValue(2);
+    }
+
+    @Test
+    public void shouldNotCacheFailuresToReachTheAuthServer() {
+        CachingOpaqueTokenIntrospector introspector = introspector(token -> {
+            if (introspections.incrementAndGet() == 1) throw new OAuth2IntrospectionException("Connection refused");
+            return principal(clock.instant().plus(Duration.ofMinutes(30)));
+        });
+
+        assertThatThrownBy(() -> introspector.introspect("token")).isInstanceOf(OAuth2IntrospectionException.class);
+        assertThat(introspector.introspect("token").getName()).isEqualTo("taco");
+    }
+
+    private CachingOpaqueTokenIntrospector introspector(OpaqueTokenIntrospector delegate) {
+        ResourceServerProps props = new ResourceServerProps();
+        props.setCacheTtl(Duration.ofMinutes(1));
+        props.setInactiveCacheTtl(Duration.ofSeconds(10));
+        return new CachingOpaqueTokenIntrospector(delegate, props, clock);
+    }
+
+    private OpaqueTokenIntrospector activeUntil(Instant expiresAt) {
+        return token -> {
+            introspections.incrementAndGet();
+            return principal(expiresAt);
+        };
+    }
+
+    private static OAuth2AuthenticatedPrincipal principal(Instant expiresAt) {
+        return new DefaultOAuth2AuthenticatedPrincipal("taco",
+                                                       Map.of(OAuth2TokenIntrospectionClaimNames.EXP, expiresAt),
+                                                       List.of(new SimpleGrantedAuthority("SCOPE_writeIngredients")));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package sia.tacocloud.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.Ingredient.Type;
+import sia.tacocloud.repository.IngredientRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IngredientCatalogServiceTest {
+
+    private final Ingredient flourTortilla = new Ingredient("FLTO", "Flour Tortilla", Type.WRAP);
+    private final Ingredient carnitas = new Ingredient("CARN", "Carnitas", Type.PROTEIN);
+    private final Ingredient cornTortilla = new Ingredient("COTO", "Corn Tortilla", Type.WRAP);
+
+    @Test
+    public void shouldLoadIngredientsOnceAndGroupThemByType() {
+        IngredientRepository ingredientRepository = Mockito.mock(IngredientRepository.class);
+        when(ingredientRepository.findAll()).thenReturn(List.of(flourTortilla, carnitas, cornTortilla));
+
+        IngredientCatalogService catalog = new IngredientCatalogService(ingredientRepository);
+
+        assertThat(catalog.findByType(Type.WRAP)).containsExactly(flourTortilla, cornTortilla);
+        assertThat(catalog.findByType(Type.PROTEIN)).containsExactly(carnitas);
+        assertThat(catalog.findByType(Type.SAUCE)).isEmpty();
+        assertThat(catalog.findById("CARN")).contains(carnitas);
+        assertThat(catalog.findById("NONE")).isEmpty();
+
+        verify(ingredientRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void shouldReloadIngredientsAfterInvalidation() {
+        IngredientRepository ingredientRepository = Mockito.mock(IngredientRepository.class);
+        when(ingredientRepository.findAll()).thenReturn(List.of(flourTortilla))
+                                            .thenReturn(List.of(flourTortilla, carnitas));
+
+        IngredientCatalogService catalog = new IngredientCatalogService(ingredientRepository);
+        assertThat(catalog.findById("CARN")).isEmpty();
+
+        catalog.invalidate();
+
+        assertThat(catalog.findById("CARN")).contains(carnitas);
+        verify(ingredientRepository, times(2)).findAll();
+    }
+}
@@ -0,0 +1,55 @@
+package sia.tacocloud.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+import sia.tacocloud.TestOrders;
+import sia.tacocloud.domain.TacoOrder;
+import sia.tacocloud.property.OrderProps;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderEventPublisherTest {
+
+    @Test
+    public void shouldReplayRecentOrdersToNewSubscribers() {
+        OrderEventPublisher publisher = new OrderEventPublisher(orderProps(3, 10));
+        for (long id = 1; id <= 5; id++) publisher.publish(testOrder(id));
+
+        StepVerifier.create(publisher.events().take(3))
+                    .assertNext(event -> assertThat(event.getOrderId()).isEqualTo(3L))
+                    .assertNext(event -> assertThat(event.getOrderId()).isEqualTo(4L))
+                    .assertNext(event -> assertThat(event.getOrderId()).isEqualTo(5L))
+                    .verifyComplete();
+    }
+
+    @Test
+    public void shouldDropOldestEventsForASlowSubscriber() {
+        OrderEventPublisher publisher = new OrderEventPublisher(orderProps(1, 10));
+
+        // The subscriber requests nothing while 1000 orders are published, the publisher must not wait for it.
+        StepVerifier.create(publisher.events(), 0)
+                    .then(() -> {
+                        for (long id = 1; id <= 1000; id++) publisher.publish(testOrder(id));
+                    })
+                    .thenRequest(10)
+                    .expectNextCount(9)
+                    .assertNext(event -> assertThat(event.getOrderId()).isEqualTo(1000L))
+                    .thenCancel()
+                    .verify(Duration.ofSeconds(5));
+    }
+
+    private OrderProps orderProps(int replaySize, int subscriberBuffer) {
+        OrderProps orderProps = new OrderProps();
+        orderProps.setFeedReplaySize(replaySize);
+        orderProps.setFeedSubscriberBuffer(subscriberBuffer);
+        return orderProps;
+    }
+
+    private TacoOrder testOrder(Long id) {
+        TacoOrder order = TestOrders.order("Customer");
+        order.setId(id);
+        return order;
+    }
+}
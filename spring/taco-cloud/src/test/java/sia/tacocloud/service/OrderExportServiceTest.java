@@ -0,0 +1,68 @@
+package sia.tacocloud.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import sia.tacocloud.TacoDataJpaTest;
+import sia.tacocloud.TestOrders;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.TacoOrder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TacoDataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OrderExportService.class, JacksonAutoConfiguration.class})
+public class OrderExportServiceTest {
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void shouldWriteOneJsonLinePerOrder() throws Exception {
+        Ingredient carnitas = entityManager.persist(new Ingredient("CARN", "Carnitas", Ingredient.Type.PROTEIN));
+        for (int i = 0; i < 1200; i++) {
+            TacoOrder order = TestOrders.order("Customer " + i);
+            order.addTaco(TestOrders.taco("Export taco", carnitas));
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = orderExportService.exportAsNdjson(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        JsonNode last = objectMapper.readTree(lines[lines.length - 1]);
+
+        assertThat(exported).isEqualTo(1200);
+        assertThat(lines).hasSize(1200);
+        assertThat(last.get("deliveryName").asText()).isEqualTo("Customer 1199");
+        assertThat(last.get("tacos").get(0).get("ingredients").get(0).asText()).isEqualTo("CARN");
+        assertThat(last.has("ccNumber")).isFalse();
+        assertThat(last.has("user")).isFalse();
+        // The cursor plus one taco and one ingredient query per chunk of 500, not one per order and taco.
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(7);
+    }
+}
@@ -0,0 +1,132 @@
+package sia.tacocloud.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import sia.tacocloud.TacoDataJpaTest;
+import sia.tacocloud.TestOrders;
+import sia.tacocloud.convert.ScrollPositionTokens;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.Taco;
+import sia.tacocloud.domain.TacoOrder;
+import sia.tacocloud.domain.User;
+import sia.tacocloud.dto.CursorPage;
+import sia.tacocloud.dto.OrderSummary;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TacoDataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(OrderHistoryService.class)
+public class OrderHistoryServiceTest {
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void shouldLoadOrdersTacosAndIngredientsInThreeStatements() {
+        assertThat(statementsToRenderOrderList(2)).isEqualTo(3);
+        assertThat(statementsToRenderOrderList(8)).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldScrollThroughOrderHistoryWithContinuationTokens() {
+        User user = entityManager.persist(new User("scroller", "password", "Test User", "Street", "City", "ST",
+                                                   "12345", "555-1234"));
+        User otherUser = entityManager.persist(new User("other", "password", "Other User", "Street", "City", "ST",
+                                                        "12345", "555-1234"));
+        Ingredient wrap = entityManager.persist(new Ingredient("WRAP", "Wrap", Ingredient.Type.WRAP));
+
+        // Several orders share the same day, so the id has to break the ties between them.
+        List<TacoOrder> ownOrders = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            TacoOrder order = TestOrders.order("Test User");
+            order.setUser(user);
+            order.setPlacedAt(LocalDate.of(2024, 1, 1).plusDays(i / 3));
+            order.addTaco(TestOrders.taco("Taco of order " + i, wrap));
+            ownOrders.add(entityManager.persist(order));
+        }
+        TacoOrder foreignOrder = TestOrders.order("Other User");
+        foreignOrder.setUser(otherUser);
+        foreignOrder.addTaco(TestOrders.taco("Foreign taco", wrap));
+        entityManager.persist(foreignOrder);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<OrderSummary> scrolled = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            CursorPage<OrderSummary> page = CursorPage.of(
+                    orderHistoryService.orderHistory(user, ScrollPositionTokens.decode(token), Limit.of(3)));
+            scrolled.addAll(page.getContent());
+            token = page.getNext();
+            pages++;
+        } while (token != null);
+
+        List<Long> expectedIds = ownOrders.stream()
+                                          .sorted(Comparator.comparing(TacoOrder::getPlacedAt)
+                                                            .thenComparing(TacoOrder::getId)
+                                                            .reversed())
+                                          .map(TacoOrder::getId)
+                                          .toList();
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(scrolled).extracting(OrderSummary::getId).containsExactlyElementsOf(expectedIds);
+        assertThat(scrolled.get(0).getTacos()).containsExactly("Taco of order 6");
+        // One statement for the window and one for its tacos per page, plus the eager user once.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2L * pages + 1);
+    }
+
+    // Persists the orders, then counts the statements needed to walk them the way the order list template does.
+    private long statementsToRenderOrderList(int orderCount) {
+        User user = entityManager.persist(new User("user" + orderCount, "password", "Test User", "Street", "City",
+                                                   "ST", "12345", "555-1234"));
+        Ingredient wrap = entityManager.persist(new Ingredient("W" + orderCount, "Wrap", Ingredient.Type.WRAP));
+        Ingredient protein = entityManager.persist(new Ingredient("P" + orderCount, "Protein",
+                                                                  Ingredient.Type.PROTEIN));
+
+        for (int i = 0; i < orderCount; i++) {
+            TacoOrder order = TestOrders.order("Test User");
+            order.setUser(user);
+            for (int j = 0; j < 3; j++) order.addTaco(TestOrders.taco("Test taco", wrap, protein));
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<TacoOrder> orders = orderHistoryService.recentOrders(user, PageRequest.of(0, 20));
+        for (TacoOrder order : orders) {
+            order.getUser().getUsername();
+            for (Taco taco : order.getTacos()) {
+                for (Ingredient ingredient : taco.getIngredients()) ingredient.getName();
+            }
+        }
+
+        assertThat(orders).hasSize(orderCount);
+        assertThat(orders).allSatisfy(order -> assertThat(order.getTacos()).hasSize(3));
+        return statistics.getPrepareStatementCount();
+    }
+}
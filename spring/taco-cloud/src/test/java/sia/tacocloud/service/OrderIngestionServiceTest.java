@@ -0,0 +1,101 @@
+package sia.tacocloud.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolationException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import sia.tacocloud.TacoDataJpaTest;
+import sia.tacocloud.TestOrders;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.TacoOrder;
+import sia.tacocloud.property.OrderProps;
+import sia.tacocloud.repository.OrderRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TacoDataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "taco.orders.batchChunkSize=100"
+})
+@Import({OrderIngestionService.class, OrderProps.class, ValidationAutoConfiguration.class})
+public class OrderIngestionServiceTest {
+
+    @Autowired
+    private OrderIngestionService orderIngestionService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void shouldWriteOrdersInJdbcBatches() {
+        entityManager.persist(new Ingredient("FLTO", "Flour Tortilla", Ingredient.Type.WRAP));
+        entityManager.persist(new Ingredient("GRBF", "Ground Beef", Ingredient.Type.PROTEIN));
+        entityManager.flush();
+
+        List<TacoOrder> orders = new ArrayList<>();
+        for (int i = 0; i < 250; i++) orders.add(testOrder());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long saved = orderIngestionService.ingest(orders.iterator());
+
+        // 250 orders, 500 tacos and their join table rows are 2500 rows, batching keeps the statements far fewer.
+        assertThat(saved).isEqualTo(250);
+        assertThat(orderRepository.count()).isEqualTo(250);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(750);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(150);
+    }
+
+    @Test
+    public void shouldRejectUnknownIngredientWithOrderIndex() {
+        entityManager.persist(new Ingredient("FLTO", "Flour Tortilla", Ingredient.Type.WRAP));
+        entityManager.persist(new Ingredient("GRBF", "Ground Beef", Ingredient.Type.PROTEIN));
+        entityManager.flush();
+
+        TacoOrder unknown = TestOrders.order("Partner");
+        unknown.addTaco(TestOrders.taco("Partner taco", new Ingredient("XXXX", "Unknown", Ingredient.Type.WRAP)));
+
+        assertThatThrownBy(() -> orderIngestionService.ingest(List.of(testOrder(), unknown).iterator()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Order #1")
+                .hasMessageContaining("XXXX");
+    }
+
+    @Test
+    public void shouldValidateTacosOfEachOrder() {
+        TacoOrder order = TestOrders.order("Partner");
+        order.addTaco(TestOrders.taco("Partner taco"));
+
+        assertThatThrownBy(() -> orderIngestionService.ingest(List.of(order).iterator()))
+                .isInstanceOf(ConstraintViolationException.class)
+                .hasMessageContaining("Order #0");
+    }
+
+    private TacoOrder testOrder() {
+        TacoOrder order = TestOrders.order("Partner");
+        for (int i = 0; i < 2; i++) {
+            order.addTaco(TestOrders.taco("Partner taco",
+                                          new Ingredient("FLTO", "Flour Tortilla", Ingredient.Type.WRAP),
+                                          new Ingredient("GRBF", "Ground Beef", Ingredient.Type.PROTEIN)));
+        }
+        return order;
+    }
+}
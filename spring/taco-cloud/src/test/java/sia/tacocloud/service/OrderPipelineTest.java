@@ -0,0 +1,118 @@
+package sia.tacocloud.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import sia.tacocloud.dto.OrderEvent;
+import sia.tacocloud.property.OrderPipelineProps;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderPipelineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void shouldProcessEveryQueuedOrderInBatchesBeforeStopping() {
+        RecordingStage stage = new RecordingStage();
+        OrderPipeline pipeline = new OrderPipeline(List.of(stage), meterRegistry, props(1000, 10, 2));
+
+        pipeline.start();
+        for (long id = 1; id <= 500; id++) pipeline.submit(testOrder(id));
+        pipeline.stop();
+
+        assertThat(stage.orders).hasSize(500);
+        assertThat(stage.batchSizes).allMatch(size -> size <= 10);
+        assertThat(meterRegistry.get("taco.orders.pipeline.stage").tag("stage", "recording").timer().count())
+                .isEqualTo(stage.batchSizes.size());
+        assertThat(meterRegistry.get("taco.orders.pipeline.queue").gauge().value()).isZero();
+    }
+
+    @Test
+    public void shouldLetTheCallerProcessItsOrderWhenTheQueueIsFull() {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingStage stage = new RecordingStage() {
+            @Override
+            public void process(List<OrderEvent> orders) {
+                // Holds the only worker on its first batch until the queue has filled up.
+                if (Thread.currentThread().getName().startsWith("order-pipeline")) await(release);
+                super.process(orders);
+            }
+        };
+        OrderPipeline pipeline = new OrderPipeline(List.of(stage), meterRegistry, props(2, 1, 1));
+        pipeline.start();
+
+        for (long id = 1; id <= 5; id++) pipeline.submit(testOrder(id));
+        // One order is held by the worker and two are queued, the remaining ones ran on this thread.
+        assertThat(stage.orders).hasSizeGreaterThanOrEqualTo(2);
+
+        release.countDown();
+        pipeline.stop();
+        assertThat(stage.orders).hasSize(5);
+    }
+
+    @Test
+    public void shouldKeepGoingWhenAStageFails() {
+        RecordingStage stage = new RecordingStage();
+        OrderStage failing = new OrderStage() {
+            @Override
+            public String name() {
+                return "failing";
+            }
+
+            @Override
+            public void process(List<OrderEvent> orders) {
+                throw new IllegalStateException("Kitchen printer is out of paper");
+            }
+        };
+        OrderPipeline pipeline = new OrderPipeline(List.of(failing, stage), meterRegistry, props(10, 5, 1));
+
+        pipeline.start();
+        for (long id = 1; id <= 20; id++) pipeline.submit(testOrder(id));
+        pipeline.stop();
+
+        assertThat(stage.orders).hasSize(20);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private OrderPipelineProps props(int queueCapacity, int batchSize, int workers) {
+        OrderPipelineProps props = new OrderPipelineProps();
+        props.setQueueCapacity(queueCapacity);
+        props.setBatchSize(batchSize);
+        props.setWorkers(workers);
+        return props;
+    }
+
+    private OrderEvent testOrder(long id) {
+        return new OrderEvent(id, LocalDate.now(), "City", "12345", List.of("Partner taco"));
+    }
+
+    private static class RecordingStage implements OrderStage {
+        final Queue<OrderEvent> orders = new ConcurrentLinkedQueue<>();
+        final Queue<Integer> batchSizes = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void process(List<OrderEvent> orders) {
+            batchSizes.add(orders.size());
+            this.orders.addAll(orders);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package sia.tacocloud.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import sia.tacocloud.TacoDataJpaTest;
+import sia.tacocloud.TestOrders;
+import sia.tacocloud.domain.Ingredient;
+import sia.tacocloud.domain.TacoOrder;
+import sia.tacocloud.domain.User;
+import sia.tacocloud.repository.IngredientRepository;
+import sia.tacocloud.repository.OrderRepository;
+import sia.tacocloud.repository.UserRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Runs without the test transaction, every service call commits on its own like it does behind the controller.
+@TacoDataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(OrderUpdateService.class)
+public class OrderUpdateServiceTest {
+
+    @Autowired
+    private OrderUpdateService orderUpdateService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private TacoOrder order;
+
+    @BeforeEach
+    public void setUp() {
+        Ingredient flourTortilla = ingredientRepository.save(
+                new Ingredient("FLTO", "Flour Tortilla", Ingredient.Type.WRAP));
+
+        user = userRepository.save(new User("customer", "password", "Customer", "Street", "City", "ST", "12345",
+                                            "555-1234"));
+
+        TacoOrder newOrder = TestOrders.order("Customer");
+        newOrder.setUser(user);
+        newOrder.addTaco(TestOrders.taco("Customer taco", flourTortilla));
+
+        order = orderRepository.save(newOrder);
+    }
+
+    // Nothing is rolled back, other tests share the embedded database.
+    @AfterEach
+    public void tearDown() {
+        orderRepository.deleteAll();
+        ingredientRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldIncrementTheVersionOnlyWhenSomethingChanged() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        TacoOrder patch = new TacoOrder();
+        patch.setDeliveryZip("12345");
+        TacoOrder unchanged = orderUpdateService.patchOrder(user, order.getId(), order.getVersion(), patch).orElseThrow();
+
+        assertThat(unchanged.getVersion()).isEqualTo(order.getVersion());
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+
+        patch.setDeliveryZip("54321");
+        TacoOrder patched = orderUpdateService.patchOrder(user, order.getId(), order.getVersion(), patch).orElseThrow();
+
+        assertThat(patched.getVersion()).isEqualTo(order.getVersion() + 1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(orderRepository.findById(order.getId())).get()
+                                                           .extracting(TacoOrder::getDeliveryZip)
+                                                           .isEqualTo("54321");
+    }
+
+    @Test
+    public void shouldRejectUpdatesBasedOnAStaleVersion() {
+        TacoOrder patch = new TacoOrder();
+        patch.setDeliveryCity("Elsewhere");
+        orderUpdateService.patchOrder(user, order.getId(), order.getVersion(), patch);
+
+        patch.setDeliveryCity("Somewhere else");
+        assertThatThrownBy(() -> orderUpdateService.patchOrder(user, order.getId(), order.getVersion(), patch))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThatThrownBy(() -> orderUpdateService.replaceOrder(user, order.getId(), order.getVersion(), order))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(orderRepository.findById(order.getId())).get()
+                                                           .extracting(TacoOrder::getDeliveryCity)
+                                                           .isEqualTo("Elsewhere");
+    }
+
+    @Test
+    public void shouldKeepTheCaseInsensitiveSearchKeysInSync() {
+        TacoOrder patch = new TacoOrder();
+        patch.setDeliveryCity("Keytown");
+        orderUpdateService.patchOrder(user, order.getId(), order.getVersion(), patch);
+
+        assertThat(orderRepository.findByDeliveryStreetAndDeliveryCityAllIgnoreCase("STREET", "keytown"))
+                .extracting(TacoOrder::getId)
+                .containsExactly(order.getId());
+    }
+
+    @Test
+    public void shouldReportOrdersThatDoNotExist() {
+        assertThat(orderUpdateService.patchOrder(user, -1L, null, new TacoOrder())).isEmpty();
+    }
+
+    @Test
+    public void shouldNotFindTheOrdersOfOtherUsers() {
+        User otherUser = userRepository.save(new User("other", "password", "Other", "Street", "City", "ST", "12345",
+                                                      "555-4321"));
+        TacoOrder patch = new TacoOrder();
+        patch.setDeliveryCity("Elsewhere");
+
+        assertThat(orderUpdateService.patchOrder(otherUser, order.getId(), null, patch)).isEmpty();
+        assertThat(orderUpdateService.replaceOrder(otherUser, order.getId(), null, patch)).isEmpty();
+        assertThat(orderUpdateService.deleteOrder(otherUser, order.getId())).isFalse();
+
+        assertThat(orderRepository.findById(order.getId())).get()
+                                                           .extracting(TacoOrder::getDeliveryCity)
+                                                           .isEqualTo("City");
+    }
+}